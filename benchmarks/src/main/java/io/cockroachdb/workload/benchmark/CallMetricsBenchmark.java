@@ -0,0 +1,54 @@
+package io.cockroachdb.workload.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.cockroachdb.workload.common.CallMetrics;
+
+/**
+ * Measures recording a call outcome into a single context shared by all
+ * benchmark threads, which is what worker threads of one workload do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CallMetricsBenchmark {
+    private CallMetrics.Context context;
+
+    @Setup
+    public void setup() {
+        context = new CallMetrics().of("benchmark", () -> 4);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void afterUncontended() {
+        context.after(context.before(), null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void afterContended() {
+        context.after(context.before(), null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        context.record(1_500_000);
+    }
+}
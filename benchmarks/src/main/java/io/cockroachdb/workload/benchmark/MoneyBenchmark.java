@@ -0,0 +1,58 @@
+package io.cockroachdb.workload.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.common.util.Multiplier;
+
+/**
+ * Measures money arithmetic and multiplier expression parsing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+    private Money left = Money.of("1250.50", Money.USD);
+
+    private Money right = Money.of("99.95", Money.USD);
+
+    private String expression = "5k";
+
+    @Benchmark
+    public Money plus() {
+        return left.plus(right);
+    }
+
+    @Benchmark
+    public Money minus() {
+        return left.minus(right);
+    }
+
+    @Benchmark
+    public Money multiply() {
+        return left.multiply(3);
+    }
+
+    @Benchmark
+    public Money negate() {
+        return left.negate();
+    }
+
+    @Benchmark
+    public int parseMultiplier() {
+        return Multiplier.parseInt(expression);
+    }
+}
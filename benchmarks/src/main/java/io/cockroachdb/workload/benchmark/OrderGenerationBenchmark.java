@@ -0,0 +1,58 @@
+package io.cockroachdb.workload.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.cockroachdb.workload.common.util.FastUuid;
+import io.cockroachdb.workload.order.model.Order;
+import io.cockroachdb.workload.order.model.OrderEntities;
+import io.cockroachdb.workload.order.model.OrderGenerator;
+
+/**
+ * Compares per-batch order generation from scratch against the pooled generator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderGenerationBenchmark {
+    @Param({"64"})
+    private int batchSize;
+
+    private OrderGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new OrderGenerator(1024);
+    }
+
+    @Benchmark
+    public List<Order> generateOrderEntities() {
+        return OrderEntities.generateOrderEntities(batchSize, UUID::randomUUID);
+    }
+
+    @Benchmark
+    public List<Order> generatePooled() {
+        return generator.generate(batchSize, FastUuid::random, true);
+    }
+
+    @Benchmark
+    public List<Order> generatePooledWithoutCustomer() {
+        return generator.generate(batchSize, FastUuid::random, false);
+    }
+}
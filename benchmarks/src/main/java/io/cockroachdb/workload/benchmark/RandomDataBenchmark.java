@@ -0,0 +1,77 @@
+package io.cockroachdb.workload.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.cockroachdb.workload.common.util.AliasSampler;
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.common.util.RandomData;
+import io.cockroachdb.workload.ledger.model.Account;
+import io.cockroachdb.workload.ledger.model.AccountType;
+
+/**
+ * Measures weighted account selection as done per transfer in the ledger workload,
+ * scanning all weights per draw versus a precomputed alias table.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RandomDataBenchmark {
+    @Param({"5000"})
+    private int accountCount;
+
+    private List<Account> accounts;
+
+    private AliasSampler sampler;
+
+    @Setup
+    public void setup() {
+        accounts = IntStream.range(0, accountCount)
+                .mapToObj(i -> Account.builder()
+                        .withId(UUID.randomUUID())
+                        .withRegion("us-east-1")
+                        .withName("user:" + i)
+                        .withBalance(RandomData.randomMoneyBetween(100, 10_000, Money.USD))
+                        .withAccountType(AccountType.ASSET)
+                        .build())
+                .toList();
+        sampler = AliasSampler.of(accounts);
+    }
+
+    @Benchmark
+    public Account selectRandomWeighted() {
+        return RandomData.selectRandomWeighted(accounts);
+    }
+
+    @Benchmark
+    public Account selectAliasWeighted() {
+        return accounts.get(sampler.nextIndex());
+    }
+
+    @Benchmark
+    public int[] selectAliasDistinctLegs() {
+        return sampler.nextDistinct(4, leg -> leg % 2 == 0);
+    }
+
+    @Benchmark
+    public Account selectRandom() {
+        return RandomData.selectRandom(accounts);
+    }
+}
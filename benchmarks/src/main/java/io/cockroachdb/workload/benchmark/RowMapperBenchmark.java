@@ -0,0 +1,110 @@
+package io.cockroachdb.workload.benchmark;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.RowMapper;
+
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.order.model.Address;
+import io.cockroachdb.workload.order.model.Country;
+import io.cockroachdb.workload.order.model.Order;
+import io.cockroachdb.workload.order.model.ShipmentStatus;
+import io.cockroachdb.workload.order.repository.OrderRowMapper;
+
+/**
+ * Measures the index based order row mapper against a stub result set holding
+ * a single row, with the previous name based order mapper as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RowMapperBenchmark {
+    /**
+     * Name based mapper as used by the order repository before index based mapping.
+     */
+    private static final RowMapper<Order> NAME_BASED_MAPPER = (rs, rowNum) -> {
+        UUID uuid = rs.getObject("id", UUID.class);
+
+        Order order = new Order();
+        order.setId(uuid);
+
+        order.setOrderNumber(rs.getInt("order_number"));
+        order.setStatus(ShipmentStatus.valueOf(rs.getString("status")));
+        order.setDatePlaced(rs.getDate("date_placed").toLocalDate());
+        order.setDateUpdated(rs.getDate("date_updated").toLocalDate());
+        order.setCustomerId(rs.getObject("customer_id", UUID.class));
+        order.setPaymentMethod(rs.getObject("payment_method_id", UUID.class));
+
+        order.setDeliverToFirstName(rs.getString("deliv_to_first_name"));
+        order.setDeliverToLastName(rs.getString("deliv_to_last_name"));
+        order.setDeliveryAddress((Address.builder()
+                .setAddress1(rs.getString("bill_address1"))
+                .setAddress2(rs.getString("bill_address1"))
+                .setCity(rs.getString("bill_city"))
+                .setCountry(new Country(rs.getString("bill_country_code"), rs.getString("bill_country_name")))
+                .setPostcode(rs.getString("bill_postcode")).build()));
+
+        order.setBillToFirstName(rs.getString(6));
+        order.setBillToLastName(rs.getString(6));
+        order.setBillAddress(Address.builder()
+                .setAddress1(rs.getString("deliv_address1"))
+                .setAddress2(rs.getString("deliv_address2"))
+                .setCity(rs.getString("deliv_city"))
+                .setCountry(new Country(rs.getString("deliv_country_code"), rs.getString("deliv_country_name")))
+                .setPostcode(rs.getString("deliv_postcode")).build());
+
+        order.setTotalPrice(Money.of(rs.getString("amount"), rs.getString("currency")));
+
+        return order;
+    };
+
+    private final OrderRowMapper orderRowMapper = new OrderRowMapper();
+
+    private ResultSet resultSet;
+
+    @Setup
+    public void setup() {
+        Object[] row = new Object[OrderRowMapper.COLUMNS.size()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = switch (OrderRowMapper.COLUMNS.get(i)) {
+                case "id", "customer_id", "payment_method_id" -> UUID.randomUUID();
+                case "order_number" -> 12345;
+                case "status" -> "PLACED";
+                case "date_placed", "date_updated" -> Date.valueOf(LocalDate.now());
+                case "amount" -> "1250.50";
+                case "currency" -> "USD";
+                case "bill_country_code", "deliv_country_code" -> "US";
+                default -> OrderRowMapper.COLUMNS.get(i) + " value";
+            };
+        }
+        resultSet = new StubResultSet(OrderRowMapper.COLUMNS, row);
+    }
+
+    @Benchmark
+    public Order mapByIndex() throws SQLException {
+        return orderRowMapper.mapRow(resultSet, 0);
+    }
+
+    @Benchmark
+    public Order mapByName() throws SQLException {
+        return NAME_BASED_MAPPER.mapRow(resultSet, 0);
+    }
+}
@@ -0,0 +1,65 @@
+package io.cockroachdb.workload.ledger.service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.util.Pair;
+
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.ledger.model.TransferRequest;
+
+/**
+ * Measures leg coalescing and balance verification of a transfer request. Lives in
+ * the service package since {@link AbstractTransferService#coalesce} is package private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoalesceBenchmark {
+    @Param({"2", "8"})
+    private int legs;
+
+    private TransferRequest request;
+
+    @Setup
+    public void setup() {
+        TransferRequest.Builder builder = TransferRequest.builder()
+                .withId(UUID.randomUUID())
+                .withRegion("us-east-1")
+                .withTransactionType("ABC")
+                .withBookingDate(LocalDate.now())
+                .withTransferDate(LocalDate.now());
+
+        Money amount = Money.of("100.00", Money.USD);
+        for (int i = 0; i < legs; i++) {
+            builder.addLeg()
+                    .withIdAndRegion(UUID.randomUUID(), "us-east-1")
+                    .withAmount(i % 2 == 0 ? amount.negate() : amount)
+                    .withNote("leg #" + i)
+                    .then();
+        }
+
+        request = builder.build();
+    }
+
+    @Benchmark
+    public Map<UUID, Pair<Money, String>> coalesce() {
+        return AbstractTransferService.coalesce(request);
+    }
+}
@@ -2,39 +2,155 @@ package io.cockroachdb.workload.common;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.HdrHistogram.SingleWriterRecorder;
+import org.HdrHistogram.ValueRecorder;
+
+/**
+ * Call latency and throughput metrics backed by HDR histograms.
+ * <p>
+ * Each worker thread records into its own single-writer recorder which makes the
+ * {@link Context#after(long, Throwable)} hot path wait-free and allocation-free. The
+ * per-thread interval histograms are harvested on demand (by the console printer or
+ * any other reader) into a full-run histogram per context, from which both interval
+ * and full-run percentiles are derived.
+ * <p>
+ * With many short-lived or virtual worker threads, per-thread recorders pin too much
+ * memory, so contexts can instead use a fixed number of shared multi-writer recorders
+ * with threads striped across them.
+ */
 public class CallMetrics {
     private static String separator(int len) {
         return new String(new char[len]).replace('\0', '-');
     }
 
-    private static final String HEADER_PATTERN = "%-35s %9s %7s %8s %10s %10s %10s %10s %10s %9s %9s";
+    /**
+     * Latencies are recorded in microseconds up to one hour.
+     */
+    public static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMicros(1);
 
-    private static final String ROW_PATTERN = "%-35s %,9d %7.0f %c%7.1f %10.1f %10.2f %10.2f %10.2f %10.2f %,9d %,9d";
+    /**
+     * Two significant digits gives 1% value precision at ~30KB per histogram.
+     */
+    public static final int SIGNIFICANT_DIGITS = 2;
 
-    private static final String FOOTER_PATTERN = "%-35s %,9d %7.0f %c%7.1f %10.1f %10.2f %10.2f %10.2f %10.2f %,9d %,9d";
+    private static final String HEADER_PATTERN
+            = "%-35s %9s %7s %9s %10s %10s %10s %10s %10s %10s %10s %9s %9s %9s %6s %10s";
 
-    public static final int FRAME_SIZE = 200;
+    private static final String ROW_PATTERN
+            = "%-35s %,9d %7.0f %9.1f %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f %10.2f %,9d %,9d %,9d %6.1f %10.2f";
+
+    private static final ThreadLocal<Context> CURRENT_CONTEXT = new ThreadLocal<>();
+
+    /**
+     * Contexts the current thread has a recorder registered with.
+     */
+    private static final ThreadLocal<Set<Context>> THREAD_CONTEXTS = ThreadLocal.withInitial(LinkedHashSet::new);
+
+    /**
+     * @return the context bound to the current worker thread or null
+     */
+    public static Context currentContext() {
+        return CURRENT_CONTEXT.get();
+    }
+
+    public static void bindContext(Context context) {
+        CURRENT_CONTEXT.set(context);
+    }
+
+    /**
+     * Unbind the current context and release the recorders of the current thread in all
+     * contexts, folding their last interval into the full-run histograms. Recording again
+     * from the same thread registers a new recorder.
+     */
+    public static void unbindContext() {
+        CURRENT_CONTEXT.remove();
+        THREAD_CONTEXTS.get().forEach(Context::releaseThread);
+        THREAD_CONTEXTS.remove();
+    }
 
     private final SortedMap<String, Context> metrics = Collections.synchronizedSortedMap(new TreeMap<>());
 
+    private final Map<String, Snapshot> lastPrinted = new ConcurrentHashMap<>();
+
+    private final int stripes;
+
+    public CallMetrics() {
+        this(0);
+    }
+
+    /**
+     * @param stripes number of shared recorders per context, or zero for one recorder per thread
+     */
+    public CallMetrics(int stripes) {
+        if (stripes < 0) {
+            throw new IllegalArgumentException("Stripes must be >= 0");
+        }
+        this.stripes = stripes;
+    }
+
     public Context of(String name, Supplier<Integer> concurrencyCallback) {
-        return metrics.computeIfAbsent(name, supplier -> new Context(name, concurrencyCallback));
+        return metrics.computeIfAbsent(name, supplier -> new Context(name, concurrencyCallback, stripes));
     }
 
     public void clear() {
-        metrics.clear();
+        synchronized (metrics) {
+            metrics.values().forEach(context -> context.cleared = true);
+            metrics.clear();
+        }
+        lastPrinted.clear();
+    }
+
+    /**
+     * @return full-run snapshots of all contexts ordered by name
+     */
+    public List<Snapshot> takeSnapshots() {
+        List<Context> contexts;
+        synchronized (metrics) {
+            contexts = new ArrayList<>(metrics.values());
+        }
+        List<Snapshot> snapshots = new ArrayList<>(contexts.size());
+        contexts.forEach(context -> snapshots.add(context.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * @return interval snapshots of all contexts since the previous invocation
+     */
+    public List<Snapshot> takeIntervalSnapshots() {
+        return intervalsSince(lastPrinted, takeSnapshots());
+    }
+
+    /**
+     * Computes interval snapshots against a map of previously taken full-run snapshots, which is
+     * updated in place. Each reader keeps its own map to avoid stealing intervals from other readers.
+     *
+     * @param previous previous full-run snapshots keyed by name
+     * @param current current full-run snapshots
+     * @return interval snapshots
+     */
+    public static List<Snapshot> intervalsSince(Map<String, Snapshot> previous, List<Snapshot> current) {
+        List<Snapshot> intervals = new ArrayList<>(current.size());
+        current.forEach(snapshot -> intervals.add(snapshot.since(previous.put(snapshot.getName(), snapshot))));
+        previous.keySet().retainAll(current.stream().map(Snapshot::getName).toList());
+        return intervals;
     }
 
     public String prettyPrintHeader() {
@@ -46,13 +162,18 @@ public class CallMetrics {
                 "threads",
                 "time(s)",
                 "op/s",
-                "op/m",
                 "p50(ms)",
                 "p90(ms)",
                 "p99(ms)",
+                "p99.9(ms)",
+                "p99.99(ms)",
+                "max(ms)",
                 "mean(ms)",
                 "ok",
-                "fail"
+                "fail",
+                "retries",
+                "1st%",
+                "cont(ms)"
         );
         pw.println();
         pw.printf(Locale.US,
@@ -60,58 +181,58 @@ public class CallMetrics {
                 separator(35),// metric
                 separator(9), // threads
                 separator(7), // time
-                separator(8), // ops
-                separator(10), // opm
+                separator(9), // ops
                 separator(10), // p50
                 separator(10), // p90
                 separator(10), // p99
+                separator(10), // p99.9
+                separator(10), // p99.99
+                separator(10), // max
                 separator(10), // mean
                 separator(9), // success
-                separator(9) // fail
+                separator(9), // fail
+                separator(9), // retries
+                separator(6), // first try success
+                separator(10) // contention
         );
         return sw.toString();
     }
 
-    public String prettyPrintBody() {
+    public String prettyPrintBody(List<Snapshot> snapshots) {
         StringWriter sw = new StringWriter();
         PrintWriter pw = new PrintWriter(sw);
-        metrics.forEach((key, value) -> pw.println(value.formatStats()));
+        snapshots.forEach(snapshot -> pw.println(formatStats(snapshot)));
         return sw.toString();
     }
 
-    public String prettyPrintFooter() {
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-
-        int concurrencySum = metrics.values().stream().mapToInt(Context::concurrency).sum();
-        double timeAvg = metrics.values().stream().mapToDouble(Context::executionTimeSeconds).average()
-                .orElse(0);
-        double opsPerSecSum = metrics.values().stream().mapToDouble(Context::opsPerSec).sum();
-        double opsPerMinSum = metrics.values().stream().mapToDouble(Context::opsPerMin).sum();
-        double p50 = metrics.values().stream().mapToDouble(Context::p50).average().orElse(0);
-        double p90 = metrics.values().stream().mapToDouble(Context::p90).average().orElse(0);
-        double p99 = metrics.values().stream().mapToDouble(Context::p99).average().orElse(0);
-        double meanTime = metrics.values().stream().mapToDouble(Context::mean).average().orElse(0);
-        int successSum = metrics.values().stream().mapToInt(Context::successfulCalls).sum();
-        int failSum = metrics.values().stream().mapToInt(Context::failedCalls).sum();
+    public String prettyPrintFooter(List<Snapshot> snapshots) {
+        return formatStats(Snapshot.aggregate("sum/avg", snapshots));
+    }
 
-        pw.printf(Locale.US,
-                FOOTER_PATTERN,
-                "sum/avg",
-                concurrencySum,
-                timeAvg,
-                opsPerSecSum >= FRAME_SIZE ? '>' : ' ',
-                opsPerSecSum,
-                opsPerMinSum,
-                p50,
-                p90,
-                p99,
-                meanTime,
-                successSum,
-                failSum
+    private static String formatStats(Snapshot snapshot) {
+        return String.format(Locale.US,
+                ROW_PATTERN,
+                snapshot.getName(),
+                snapshot.getConcurrency(),
+                snapshot.getExecutionTimeSeconds(),
+                snapshot.getOpsPerSec(),
+                snapshot.getPercentile(50),
+                snapshot.getPercentile(90),
+                snapshot.getPercentile(99),
+                snapshot.getPercentile(99.9),
+                snapshot.getPercentile(99.99),
+                snapshot.getMax(),
+                snapshot.getMean(),
+                snapshot.getSuccessfulCalls(),
+                snapshot.getFailedCalls(),
+                snapshot.getRetries(),
+                snapshot.getFirstTrySuccessRate(),
+                snapshot.getContentionCost()
         );
-        pw.flush();
-        return sw.toString();
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_DIGITS);
     }
 
     public static class Context {
@@ -121,15 +242,68 @@ public class CallMetrics {
 
         private final long startTime = System.nanoTime();
 
-        private final AtomicInteger successful = new AtomicInteger();
+        private final LongAdder successful = new LongAdder();
+
+        private final LongAdder failed = new LongAdder();
+
+        private final LongAdder retries = new LongAdder();
+
+        private final LongAdder firstTrySuccessful = new LongAdder();
+
+        private final LongAdder contentionNanos = new LongAdder();
+
+        private final LongAdder backoffNanos = new LongAdder();
 
-        private final AtomicInteger failed = new AtomicInteger();
+        private final List<SingleWriterRecorder> recorders = new CopyOnWriteArrayList<>();
 
-        private final List<Snapshot> snapshots = Collections.synchronizedList(new LinkedList<>());
+        private final Recorder[] sharedRecorders;
 
-        private Context(String name, Supplier<Integer> concurrencyCallback) {
+        private final ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(this::newThreadState);
+
+        private final Histogram accumulatedHistogram = newHistogram();
+
+        private final Histogram intervalHistogram = newHistogram();
+
+        private volatile boolean cleared;
+
+        private Context(String name, Supplier<Integer> concurrencyCallback, int stripes) {
             this.name = name;
             this.concurrencyCallback = concurrencyCallback;
+            if (stripes > 0) {
+                this.sharedRecorders = new Recorder[stripes];
+                for (int i = 0; i < stripes; i++) {
+                    sharedRecorders[i] = new Recorder(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_DIGITS);
+                }
+            } else {
+                this.sharedRecorders = null;
+            }
+        }
+
+        private ThreadState newThreadState() {
+            ValueRecorder recorder;
+            if (sharedRecorders != null) {
+                recorder = sharedRecorders[(int) Math.floorMod(Thread.currentThread().getId(),
+                        (long) sharedRecorders.length)];
+            } else {
+                SingleWriterRecorder threadRecorder
+                        = new SingleWriterRecorder(HIGHEST_TRACKABLE_VALUE, SIGNIFICANT_DIGITS);
+                recorders.add(threadRecorder);
+                recorder = threadRecorder;
+            }
+            THREAD_CONTEXTS.get().add(this);
+            return new ThreadState(recorder);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return true if the context was removed by {@link CallMetrics#clear()}, so holders
+         * of the context should look it up again to keep reporting
+         */
+        public boolean isCleared() {
+            return cleared;
         }
 
         public long before() {
@@ -137,135 +311,290 @@ public class CallMetrics {
         }
 
         public void after(long beginTime, Throwable t) {
-            if (snapshots.size() > FRAME_SIZE) {
-                snapshots.remove(0);
-            }
-            snapshots.add(new Snapshot(beginTime));
+            long durationMicros = (System.nanoTime() - beginTime) / 1000;
+            ThreadState state = threadState.get();
+            state.recorder.recordValue(Math.max(0, Math.min(durationMicros, HIGHEST_TRACKABLE_VALUE)));
 
             if (t != null) {
-                failed.incrementAndGet();
+                failed.increment();
             } else {
-                successful.incrementAndGet();
+                successful.increment();
+                if (state.pendingRetries == 0) {
+                    firstTrySuccessful.increment();
+                }
             }
+            if (state.pendingContentionNanos > 0) {
+                contentionNanos.add(state.pendingContentionNanos);
+            }
+            state.pendingRetries = 0;
+            state.pendingContentionNanos = 0;
         }
 
-        private double executionTimeSeconds() {
-            return Duration.ofNanos(System.nanoTime() - startTime).toMillis() / 1000.0;
+        /**
+         * Record a successful sample measured elsewhere, such as end-to-end event lag.
+         *
+         * @param latencyNanos the sample value in nanoseconds
+         */
+        public void record(long latencyNanos) {
+            threadState.get().recorder.recordValue(Math.max(0, Math.min(latencyNanos / 1000,
+                    HIGHEST_TRACKABLE_VALUE)));
+            successful.increment();
+            firstTrySuccessful.increment();
         }
 
-        private String formatStats() {
-            double p50 = 0;
-            double p90 = 0;
-            double p99 = 0;
-
-            List<Double> latencies = sortedLatencies();
+        /**
+         * Record a retry of the call in progress on the current thread.
+         *
+         * @param contentionNanos time lost on the failed attempt including backoff
+         * @param backoffNanos time spent backing off
+         */
+        public void retry(long contentionNanos, long backoffNanos) {
+            ThreadState state = threadState.get();
+            state.pendingRetries++;
+            state.pendingContentionNanos += contentionNanos;
+            this.retries.increment();
+            this.backoffNanos.add(backoffNanos);
+        }
 
-            if (snapshots.size() > 1) {
-                p50 = percentile(latencies, .5);
-                p90 = percentile(latencies, .9);
-                p99 = percentile(latencies, .99);
+        private synchronized void releaseThread() {
+            ThreadState state = threadState.get();
+            threadState.remove();
+            // Shared recorders stay in place and are harvested by the next snapshot
+            if (state.recorder instanceof SingleWriterRecorder threadRecorder && recorders.remove(threadRecorder)) {
+                threadRecorder.getIntervalHistogramInto(intervalHistogram);
+                accumulatedHistogram.add(intervalHistogram);
             }
+        }
 
-            final double opsPerSec = opsPerSec();
+        int activeRecorders() {
+            return recorders.size();
+        }
 
-            return String.format(Locale.US,
-                    ROW_PATTERN,
-                    name,
+        private synchronized Snapshot snapshot() {
+            recorders.forEach(recorder -> {
+                recorder.getIntervalHistogramInto(intervalHistogram);
+                accumulatedHistogram.add(intervalHistogram);
+            });
+            if (sharedRecorders != null) {
+                for (Recorder recorder : sharedRecorders) {
+                    recorder.getIntervalHistogramInto(intervalHistogram);
+                    accumulatedHistogram.add(intervalHistogram);
+                }
+            }
+            return new Snapshot(name,
+                    startTime,
+                    startTime,
+                    System.nanoTime(),
                     concurrencyCallback.get(),
-                    executionTimeSeconds(),
-                    opsPerSec >= FRAME_SIZE ? '>' : ' ',
-                    opsPerSec,
-                    opsPerSec * 60,
-                    p50,
-                    p90,
-                    p99,
-                    mean(),
-                    successful.get(),
-                    failed.get()
-            );
+                    accumulatedHistogram.copy(),
+                    successful.sum(),
+                    failed.sum(),
+                    retries.sum(),
+                    firstTrySuccessful.sum(),
+                    contentionNanos.sum(),
+                    backoffNanos.sum());
         }
+    }
+
+    private static class ThreadState {
+        final ValueRecorder recorder;
+
+        int pendingRetries;
 
-        private double opsPerSec() {
-            final int size = snapshots.size();
-            return size / Math.max(1,
-                    Duration.ofNanos(
-                                    (System.nanoTime() - (snapshots.isEmpty() ? 0 : snapshots.get(0).endTime)))
-                            .toMillis() / 1000.0);
+        long pendingContentionNanos;
+
+        ThreadState(ValueRecorder recorder) {
+            this.recorder = recorder;
         }
+    }
 
-        private double opsPerMin() {
-            return opsPerSec() * 60;
+    /**
+     * Immutable view of a context's histogram and counters over a period of time, either
+     * the full run or an interval.
+     */
+    public static class Snapshot {
+        public static Snapshot aggregate(String name, Collection<Snapshot> snapshots) {
+            Histogram histogram = newHistogram();
+            long fromTime = Long.MAX_VALUE;
+            long toTime = Long.MIN_VALUE;
+            long startTime = Long.MAX_VALUE;
+            int concurrency = 0;
+            long successful = 0;
+            long failed = 0;
+            long retries = 0;
+            long firstTrySuccessful = 0;
+            long contentionNanos = 0;
+            long backoffNanos = 0;
+            for (Snapshot snapshot : snapshots) {
+                histogram.add(snapshot.histogram);
+                startTime = Math.min(startTime, snapshot.startTime);
+                fromTime = Math.min(fromTime, snapshot.fromTime);
+                toTime = Math.max(toTime, snapshot.toTime);
+                concurrency += snapshot.concurrency;
+                successful += snapshot.successful;
+                failed += snapshot.failed;
+                retries += snapshot.retries;
+                firstTrySuccessful += snapshot.firstTrySuccessful;
+                contentionNanos += snapshot.contentionNanos;
+                backoffNanos += snapshot.backoffNanos;
+            }
+            if (snapshots.isEmpty()) {
+                fromTime = toTime = startTime = System.nanoTime();
+            }
+            return new Snapshot(name, startTime, fromTime, toTime, concurrency, histogram, successful, failed,
+                    retries, firstTrySuccessful, contentionNanos, backoffNanos);
         }
 
-        private double p50() {
-            return percentile(sortedLatencies(), .5);
+        private final String name;
+
+        private final long startTime;
+
+        private final long fromTime;
+
+        private final long toTime;
+
+        private final int concurrency;
+
+        private final Histogram histogram;
+
+        private final long successful;
+
+        private final long failed;
+
+        private final long retries;
+
+        private final long firstTrySuccessful;
+
+        private final long contentionNanos;
+
+        private final long backoffNanos;
+
+        private Snapshot(String name, long startTime, long fromTime, long toTime, int concurrency,
+                         Histogram histogram, long successful, long failed, long retries,
+                         long firstTrySuccessful, long contentionNanos, long backoffNanos) {
+            this.name = name;
+            this.startTime = startTime;
+            this.fromTime = fromTime;
+            this.toTime = toTime;
+            this.concurrency = concurrency;
+            this.histogram = histogram;
+            this.successful = successful;
+            this.failed = failed;
+            this.retries = retries;
+            this.firstTrySuccessful = firstTrySuccessful;
+            this.contentionNanos = contentionNanos;
+            this.backoffNanos = backoffNanos;
         }
 
-        private double p90() {
-            return percentile(sortedLatencies(), .9);
+        /**
+         * @param previous an earlier full-run snapshot of the same context (nullable)
+         * @return the interval snapshot between previous and this snapshot
+         */
+        public Snapshot since(Snapshot previous) {
+            if (previous == null || previous.startTime != startTime || previous.toTime > toTime) {
+                return this;
+            }
+            Histogram delta = histogram.copy();
+            delta.subtract(previous.histogram);
+            return new Snapshot(name, startTime, previous.toTime, toTime, concurrency, delta,
+                    successful - previous.successful,
+                    failed - previous.failed,
+                    retries - previous.retries,
+                    firstTrySuccessful - previous.firstTrySuccessful,
+                    contentionNanos - previous.contentionNanos,
+                    backoffNanos - previous.backoffNanos);
         }
 
-        private double p99() {
-            return percentile(sortedLatencies(), .99);
+        public String getName() {
+            return name;
         }
 
-        private int successfulCalls() {
-            return successful.get();
+        public int getConcurrency() {
+            return concurrency;
         }
 
-        private int failedCalls() {
-            return failed.get();
+        public Histogram getHistogram() {
+            return histogram;
         }
 
-        private int concurrency() {
-            return concurrencyCallback.get();
+        public double getExecutionTimeSeconds() {
+            return (toTime - startTime) / 1_000_000_000.0;
         }
 
-        private double mean() {
-            List<Snapshot> copy = new ArrayList<>(snapshots);
-            return copy.stream().mapToDouble(Snapshot::durationMillis)
-                    .average()
-                    .orElse(0);
+        public double getPeriodSeconds() {
+            return (toTime - fromTime) / 1_000_000_000.0;
         }
 
-        private List<Double> sortedLatencies() {
-            List<Snapshot> copy = new ArrayList<>(snapshots);
-            return copy.stream().map(Snapshot::durationMillis)
-                    .sorted()
-                    .collect(Collectors.toList());
+        public double getOpsPerSec() {
+            double period = getPeriodSeconds();
+            return period > 0 ? histogram.getTotalCount() / period : 0;
         }
 
-        private double percentile(List<Double> latencies, double percentile) {
-            if (percentile < 0 || percentile > 1) {
-                throw new IllegalArgumentException(">=0 N <=1");
-            }
-            if (latencies.size() > 0) {
-                int index = (int) Math.ceil(percentile * latencies.size());
-                return latencies.get(index - 1);
+        /**
+         * @param percentile percentile between 0 and 100
+         * @return value at percentile in millis
+         */
+        public double getPercentile(double percentile) {
+            if (percentile < 0 || percentile > 100) {
+                throw new IllegalArgumentException(">=0 N <=100");
             }
-            return 0;
+            return histogram.getTotalCount() > 0 ? histogram.getValueAtPercentile(percentile) / 1000.0 : 0;
         }
-    }
 
-    private static class Snapshot implements Comparable<Snapshot> {
-        final long endTime = System.nanoTime();
+        public double getMax() {
+            return histogram.getTotalCount() > 0 ? histogram.getMaxValue() / 1000.0 : 0;
+        }
 
-        final long beginTime;
+        public double getMean() {
+            return histogram.getTotalCount() > 0 ? histogram.getMean() / 1000.0 : 0;
+        }
 
-        Snapshot(long beginTime) {
-            if (beginTime > endTime) {
-                throw new IllegalArgumentException();
-            }
-            this.beginTime = beginTime;
+        public long getSuccessfulCalls() {
+            return successful;
+        }
+
+        public long getFailedCalls() {
+            return failed;
+        }
+
+        public long getRetries() {
+            return retries;
+        }
+
+        public long getFirstTrySuccessfulCalls() {
+            return firstTrySuccessful;
+        }
+
+        /**
+         * @return percentage of calls that succeeded without any retries
+         */
+        public double getFirstTrySuccessRate() {
+            long calls = successful + failed;
+            return calls > 0 ? firstTrySuccessful * 100.0 / calls : 0;
+        }
+
+        /**
+         * @return mean time per call in millis lost to failed attempts and backoff (included in latency)
+         */
+        public double getContentionCost() {
+            long calls = successful + failed;
+            return calls > 0 ? contentionNanos / 1_000_000.0 / calls : 0;
+        }
+
+        /**
+         * @return mean time per call in millis spent backing off (included in contention cost)
+         */
+        public double getBackoffTime() {
+            long calls = successful + failed;
+            return calls > 0 ? backoffNanos / 1_000_000.0 / calls : 0;
         }
 
-        public double durationMillis() {
-            return (endTime - beginTime) / 1_000_000.0;
+        public long getContentionNanos() {
+            return contentionNanos;
         }
 
-        @Override
-        public int compareTo(Snapshot o) {
-            return Long.compare(o.endTime, endTime);
+        public long getBackoffNanos() {
+            return backoffNanos;
         }
     }
 }
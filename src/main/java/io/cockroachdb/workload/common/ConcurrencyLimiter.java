@@ -0,0 +1,111 @@
+package io.cockroachdb.workload.common;
+
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.cockroachdb.workload.common.config.AsyncConfig;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Limits the number of workers concurrently executing a unit of work to the size of
+ * the connection pool. With virtual threads there can be far more logical clients than
+ * connections, and letting them all queue inside the pool causes connection timeouts
+ * rather than plain queueing delay.
+ */
+@Component
+public class ConcurrencyLimiter {
+    private static class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final ResizableSemaphore semaphore = new ResizableSemaphore(0);
+
+    private int maxPermits;
+
+    private boolean enabled;
+
+    @Autowired
+    private AsyncConfig asyncConfig;
+
+    @Autowired
+    private HikariDataSource hikariDataSource;
+
+    @PostConstruct
+    public void init() {
+        // Only when workers actually run on virtual threads, not on the platform thread fallback
+        this.enabled = asyncConfig.isVirtualThreadsActive();
+        if (enabled) {
+            setMaxPermits(hikariDataSource.getMaximumPoolSize());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized void setMaxPermits(int newMaxPermits) {
+        if (newMaxPermits < 1) {
+            throw new IllegalArgumentException("Permits must be > 0");
+        }
+        int delta = newMaxPermits - maxPermits;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            semaphore.reducePermits(-delta);
+        }
+        this.maxPermits = newMaxPermits;
+        logger.info("Concurrency limit set to {}", newMaxPermits);
+    }
+
+    public synchronized int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public int getAvailablePermits() {
+        return Math.max(0, semaphore.availablePermits());
+    }
+
+    public int getQueueLength() {
+        return semaphore.getQueueLength();
+    }
+
+    /**
+     * Wraps a unit of work to acquire a permit for the duration of each call, if enabled.
+     *
+     * @param runnable the unit of work
+     * @return the decorated unit of work
+     */
+    public Runnable decorate(Runnable runnable) {
+        if (!enabled) {
+            return runnable;
+        }
+        return () -> {
+            try {
+                semaphore.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                runnable.run();
+            } finally {
+                semaphore.release();
+            }
+        };
+    }
+}
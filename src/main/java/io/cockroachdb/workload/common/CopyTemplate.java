@@ -0,0 +1,99 @@
+package io.cockroachdb.workload.common;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+
+import io.cockroachdb.workload.common.util.CsvEncoder;
+
+/**
+ * Bulk ingestion through the pgjdbc copy API ({@code COPY .. FROM STDIN WITH CSV}).
+ * Rows are encoded into a pooled reusable buffer and streamed to the server in
+ * chunks, which avoids the per-row parameter binding and statement rewriting
+ * overhead of batched inserts.
+ */
+public class CopyTemplate {
+    private static final int FLUSH_SIZE = 1 << 16;
+
+    /**
+     * Encoders shared by all threads rather than one per thread, so the number of buffers
+     * follows the number of concurrent copies and not the number of (virtual) workers.
+     */
+    private static final Queue<CsvEncoder> ENCODERS = new ConcurrentLinkedQueue<>();
+
+    @FunctionalInterface
+    public interface RowWriter {
+        /**
+         * Write all column values of one row, in the declared column order.
+         */
+        void writeRow(CsvEncoder encoder, int row) throws SQLException;
+    }
+
+    private final DataSource dataSource;
+
+    private final SQLExceptionTranslator exceptionTranslator;
+
+    public CopyTemplate(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.exceptionTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+    }
+
+    /**
+     * Copy rows into a table.
+     *
+     * @param table the table name
+     * @param columns the column names
+     * @param rows number of rows to write
+     * @param rowWriter callback writing each row
+     * @return number of rows copied
+     */
+    public long copyIn(String table, List<String> columns, int rows, RowWriter rowWriter) {
+        final String sql = "COPY " + table + " (" + String.join(",", columns) + ") FROM STDIN WITH CSV";
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+
+            CsvEncoder pooled = ENCODERS.poll();
+            CsvEncoder encoder = pooled != null ? pooled : new CsvEncoder(FLUSH_SIZE + 4096);
+            encoder.reset();
+            try {
+                for (int i = 0; i < rows; i++) {
+                    rowWriter.writeRow(encoder, i);
+                    encoder.endRow();
+                    if (encoder.size() >= FLUSH_SIZE) {
+                        copyIn.writeToCopy(encoder.getBuffer(), 0, encoder.size());
+                        encoder.reset();
+                    }
+                }
+                if (encoder.size() > 0) {
+                    copyIn.writeToCopy(encoder.getBuffer(), 0, encoder.size());
+                }
+                return copyIn.endCopy();
+            } finally {
+                encoder.reset();
+                ENCODERS.offer(encoder);
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            DataAccessException ex = exceptionTranslator.translate("COPY", sql, e);
+            throw ex != null ? ex : new UncategorizedSQLException("COPY", sql, e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package io.cockroachdb.workload.common;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.util.PropertyPlaceholderHelper;
+
+import io.cockroachdb.workload.common.util.ResourceSupport;
 
 public abstract class DatabasePopulator {
     private DatabasePopulator() {
@@ -22,4 +28,21 @@ public abstract class DatabasePopulator {
 
         DatabasePopulatorUtils.execute(populator, dataSource);
     }
+
+    /**
+     * Execute scripts after replacing ${name} placeholders with the given values.
+     */
+    public static void executeScripts(DataSource dataSource, Map<String, String> placeholders, String... paths) {
+        final PropertyPlaceholderHelper plh = new PropertyPlaceholderHelper("${", "}");
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        Arrays.stream(paths).sequential().forEach(p -> {
+            String sql = plh.replacePlaceholders(ResourceSupport.resourceAsString(p), placeholders::get);
+            populator.addScript(new ByteArrayResource(sql.getBytes(StandardCharsets.UTF_8), p));
+        });
+        populator.setCommentPrefix("--");
+        populator.setIgnoreFailedDrops(true);
+
+        DatabasePopulatorUtils.execute(populator, dataSource);
+    }
 }
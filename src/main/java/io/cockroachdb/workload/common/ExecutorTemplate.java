@@ -1,6 +1,5 @@
 package io.cockroachdb.workload.common;
 
-import java.sql.SQLException;
 import java.time.Duration;
 import java.util.LinkedList;
 import java.util.Map;
@@ -9,21 +8,28 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.core.NestedExceptionUtils;
 import org.springframework.dao.DataAccessException;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
+import io.cockroachdb.workload.common.retry.ErrorCategory;
+import io.cockroachdb.workload.common.retry.RetryEngine;
 import jakarta.annotation.PreDestroy;
 
 @Component
 public class ExecutorTemplate {
+    private static final int MAX_ATTEMPTS = 10;
+
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
     private final Map<String, AtomicInteger> workers = new ConcurrentHashMap<>();
@@ -39,55 +45,126 @@ public class ExecutorTemplate {
     @Autowired
     private CallMetrics callMetrics;
 
+    @Autowired
+    private ConcurrencyLimiter concurrencyLimiter;
+
     public ThreadPoolExecutor getThreadPoolExecutor() {
         return threadPoolExecutor.getThreadPoolExecutor();
     }
 
+    public ConcurrencyLimiter getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
     public boolean hasActiveWorkers() {
         return threadPoolExecutor.getActiveCount() > 0;
     }
 
+    /**
+     * @return number of running workers submitted with the given id
+     */
+    public int activeWorkers(String id) {
+        AtomicInteger activeWorkers = workers.get(id);
+        return activeWorkers != null ? activeWorkers.get() : 0;
+    }
+
     public Future<Void> submit(String id, Runnable runnable, Duration duration) {
         logger.info("Started '{}' to run for {}", id, duration);
 
+        final Runnable limitedRunnable = concurrencyLimiter.decorate(runnable);
+
         Future<Void> future = threadPoolExecutor.submit(() -> {
             final long startTime = System.currentTimeMillis();
 
             AtomicInteger activeWorkers = workers.computeIfAbsent(id, i -> new AtomicInteger());
             activeWorkers.incrementAndGet();
 
-            CallMetrics.Context context = callMetrics.of(id, activeWorkers::get);
+            try {
+                CallMetrics.Context context = callMetrics.of(id, activeWorkers::get);
+                CallMetrics.bindContext(context);
 
-            int fails = 0;
-            while (System.currentTimeMillis() - startTime < duration.toMillis()) {
-                if (Thread.interrupted() || cancelPlease) {
-                    logger.warn("Cancel requested");
-                    break;
-                }
+                while (System.currentTimeMillis() - startTime < duration.toMillis()) {
+                    if (Thread.interrupted() || cancelPlease) {
+                        logger.warn("Cancel requested");
+                        break;
+                    }
 
-                final long callTime = context.before();
-                try {
-                    runnable.run();
-                    context.after(callTime, null);
-                } catch (DataAccessException e) {
-                    context.after(callTime, e);
-
-                    Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
-                    if (cause instanceof SQLException && "40001".equals(((SQLException) cause).getSQLState())) {
-                        logger.warn("Transient SQL error - backing off", e);
-                        backoff(++fails);
-                    } else {
-                        logger.warn("Non-transient SQL error - cancelling", e);
+                    final long callTime = context.before();
+                    if (!call(limitedRunnable, context, callTime)) {
                         break;
                     }
-                } catch (Exception e) {
-                    context.after(callTime, e);
-                    logger.error("Uncategorized error - cancelling", e);
-                    break;
                 }
+            } finally {
+                CallMetrics.unbindContext();
+                activeWorkers.decrementAndGet();
             }
 
-            activeWorkers.decrementAndGet();
+            logger.info("Finished '{}'", id);
+
+            return null;
+        });
+        futures.add(future);
+        return future;
+    }
+
+    /**
+     * Submit an open-loop worker that issues calls at a constant arrival rate rather than
+     * back-to-back. Each call has an intended start time on a fixed schedule and latency is
+     * measured from that intended start, so stalls in the database show up as queueing delay
+     * rather than as fewer (coordinated) requests. A worker falling behind schedule issues
+     * calls immediately until it catches up.
+     *
+     * @param id the worker id and metric name
+     * @param runnable the unit of work
+     * @param duration the execution duration
+     * @param ratePerSec target calls per second for this worker, or zero for a closed loop
+     * @return the worker future
+     */
+    public Future<Void> submit(String id, Runnable runnable, Duration duration, double ratePerSec) {
+        if (ratePerSec <= 0) {
+            return submit(id, runnable, duration);
+        }
+
+        logger.info("Started '{}' to run for {} at {} calls/s", id, duration, String.format("%.1f", ratePerSec));
+
+        final Runnable limitedRunnable = concurrencyLimiter.decorate(runnable);
+
+        final long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSec));
+
+        Future<Void> future = threadPoolExecutor.submit(() -> {
+            final long startTime = System.nanoTime();
+            final long endTime = startTime + duration.toNanos();
+
+            AtomicInteger activeWorkers = workers.computeIfAbsent(id, i -> new AtomicInteger());
+            activeWorkers.incrementAndGet();
+
+            try {
+                CallMetrics.Context context = callMetrics.of(id, activeWorkers::get);
+                CallMetrics.bindContext(context);
+
+                long intendedTime = startTime;
+                while (intendedTime < endTime) {
+                    if (Thread.interrupted() || cancelPlease) {
+                        logger.warn("Cancel requested");
+                        break;
+                    }
+
+                    long delayNanos = intendedTime - System.nanoTime();
+                    if (delayNanos > 0) {
+                        LockSupport.parkNanos(delayNanos);
+                        continue;
+                    }
+
+                    final long callTime = intendedTime;
+                    intendedTime += intervalNanos;
+                    if (!call(limitedRunnable, context, callTime)) {
+                        break;
+                    }
+                }
+            } finally {
+                CallMetrics.unbindContext();
+                activeWorkers.decrementAndGet();
+            }
 
             logger.info("Finished '{}'", id);
 
@@ -100,45 +177,32 @@ public class ExecutorTemplate {
     public Future<Void> submit(String id, Runnable runnable, int iterations) {
         logger.info("Started '{}' to run {} times", id, iterations);
 
+        final Runnable limitedRunnable = concurrencyLimiter.decorate(runnable);
+
         Future<Void> future = threadPoolExecutor.submitCompletable(() -> {
             AtomicInteger activeWorkers = workers.computeIfAbsent(id, i -> new AtomicInteger());
             activeWorkers.incrementAndGet();
 
-            CallMetrics.Context context = callMetrics.of(id, activeWorkers::get);
+            try {
+                CallMetrics.Context context = callMetrics.of(id, activeWorkers::get);
+                CallMetrics.bindContext(context);
 
-            loop:
-            for (int i = 0; i < iterations; i++) {
-                if (cancelPlease) {
-                    logger.warn("Cancel requested for {}", id);
-                    break;
-                }
+                for (int i = 0; i < iterations; i++) {
+                    if (cancelPlease) {
+                        logger.warn("Cancel requested for {}", id);
+                        break;
+                    }
 
-                for (int fails = 0; fails < 10; fails++) {
                     final long callTime = context.before();
-                    try {
-                        runnable.run();
-                        context.after(callTime, null);
-                    } catch (DataAccessException e) {
-                        context.after(callTime, e);
-
-                        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
-                        if (cause instanceof SQLException && "40001".equals(((SQLException) cause).getSQLState())) {
-                            logger.warn("Transient SQL error - backing off", e);
-                            backoff(++fails);
-                        } else {
-                            logger.warn("Non-transient SQL error - cancelling", e);
-                            break loop;
-                        }
-                    } catch (Exception e) {
-                        context.after(callTime, e);
-                        logger.error("Uncategorized error - cancelling", e);
-                        break loop;
+                    if (!call(limitedRunnable, context, callTime)) {
+                        break;
                     }
                 }
+            } finally {
+                CallMetrics.unbindContext();
+                activeWorkers.decrementAndGet();
             }
 
-            activeWorkers.decrementAndGet();
-
             logger.info("Finished '{}'", id);
 
             return null;
@@ -147,12 +211,30 @@ public class ExecutorTemplate {
         return future;
     }
 
-    private void backoff(int fails) {
+    /**
+     * Invoke the unit of work with retries on transient errors.
+     *
+     * @return true to proceed with the next call or false to cancel the worker
+     */
+    private boolean call(Runnable runnable, CallMetrics.Context context, long callTime) {
         try {
-            long backoffMillis = Math.min((long) (Math.pow(2, ++fails) + Math.random() * 1000), 5000);
-            Thread.sleep(backoffMillis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            RetryEngine.run(runnable, context.getName(), MAX_ATTEMPTS, MAX_BACKOFF_MILLIS);
+            context.after(callTime, null);
+            return true;
+        } catch (DataAccessException e) {
+            context.after(callTime, e);
+
+            ErrorCategory category = ErrorCategory.classify(e);
+            if (category.isTransient()) {
+                logger.warn("Transient SQL error (" + category + ") - skipping", e);
+                return true;
+            }
+            logger.warn("Non-transient SQL error - cancelling", e);
+            return false;
+        } catch (Exception e) {
+            context.after(callTime, e);
+            logger.error("Uncategorized error - cancelling", e);
+            return false;
         }
     }
 
@@ -0,0 +1,274 @@
+package io.cockroachdb.workload.common;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.cockroachdb.workload.common.util.DistinctDraws;
+
+/**
+ * Key access distribution over a fixed number of keys, yielding key indexes in the
+ * range [0, size). Draws are O(1) and allocation free, and instances are safe to
+ * share across worker threads.
+ * <p>
+ * Distributions are created from a spec in the form {@code name[:param[:param]]}:
+ * <ul>
+ *     <li>uniform - every key equally likely</li>
+ *     <li>zipfian[:theta] - skewed towards a few hot keys, theta in (0,1) defaults to 0.99</li>
+ *     <li>latest[:theta] - zipfian skewed towards the last keys</li>
+ *     <li>hotspot[:ops:keys] - fraction of ops going to a fraction of the keys, defaults to 0.8:0.2</li>
+ *     <li>sequential - round-robin across all keys</li>
+ * </ul>
+ * Keys are typically held in key order, so zipfian and hotspot ranks are scrambled across
+ * the whole key space (like the YCSB scrambled zipfian) rather than piling the hot keys
+ * up in one key range. The latest distribution is deliberately not scrambled.
+ */
+public interface KeyDistribution {
+    String HELP = "key access distribution (uniform|zipfian[:theta]|latest[:theta]|hotspot[:ops:keys]|sequential)";
+
+    static KeyDistribution of(String spec, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Key count must be > 0");
+        }
+
+        String[] parts = spec.trim().toLowerCase(Locale.ROOT).split(":");
+        try {
+            switch (parts[0]) {
+                case "uniform":
+                    return new Uniform(size);
+                case "zipfian":
+                    return new Scrambled(
+                            new Zipfian(size, parts.length > 1 ? Double.parseDouble(parts[1]) : 0.99, false));
+                case "latest":
+                    return new Zipfian(size, parts.length > 1 ? Double.parseDouble(parts[1]) : 0.99, true);
+                case "hotspot":
+                    return new Scrambled(new Hotspot(size,
+                            parts.length > 1 ? Double.parseDouble(parts[1]) : 0.8,
+                            parts.length > 2 ? Double.parseDouble(parts[2]) : 0.2));
+                case "sequential":
+                    return new Sequential(size);
+                default:
+                    throw new IllegalArgumentException("Unknown key distribution: " + spec);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad key distribution parameter: " + spec);
+        }
+    }
+
+    /**
+     * @return the next key index
+     */
+    int next();
+
+    /**
+     * @return number of keys
+     */
+    int size();
+
+    /**
+     * Draws distinct key indexes without replacement, see {@link DistinctDraws}.
+     *
+     * @param count number of distinct indexes, at most the number of keys
+     * @return the drawn indexes in draw order
+     */
+    default int[] nextDistinct(int count) {
+        return DistinctDraws.draw(count, size(), i -> true, this::next);
+    }
+
+    final class Uniform implements KeyDistribution {
+        private final int size;
+
+        Uniform(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int next() {
+            return ThreadLocalRandom.current().nextInt(size);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "uniform";
+        }
+    }
+
+    /**
+     * Zipfian generator from Gray et al, "Quickly Generating Billion-Record Synthetic
+     * Databases", as used by YCSB. The zeta constant is computed once in O(n).
+     */
+    final class Zipfian implements KeyDistribution {
+        private final int size;
+
+        private final double theta;
+
+        private final double alpha;
+
+        private final double zetan;
+
+        private final double eta;
+
+        private final double halfPowTheta;
+
+        private final boolean reversed;
+
+        Zipfian(int size, double theta, boolean reversed) {
+            if (theta <= 0 || theta >= 1) {
+                throw new IllegalArgumentException("Zipfian theta must be in (0,1): " + theta);
+            }
+            this.size = size;
+            this.theta = theta;
+            this.reversed = reversed;
+            this.alpha = 1.0 / (1.0 - theta);
+            this.zetan = zeta(size, theta);
+            this.eta = (1 - Math.pow(2.0 / size, 1 - theta)) / (1 - zeta(2, theta) / zetan);
+            this.halfPowTheta = 1 + Math.pow(0.5, theta);
+        }
+
+        private static double zeta(int n, double theta) {
+            double sum = 0;
+            for (int i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+
+        @Override
+        public int next() {
+            double uz = ThreadLocalRandom.current().nextDouble() * zetan;
+            int rank;
+            if (uz < 1.0) {
+                rank = 0;
+            } else if (uz < halfPowTheta) {
+                rank = 1;
+            } else {
+                double u = uz / zetan;
+                rank = (int) (size * Math.pow(eta * u - eta + 1, alpha));
+            }
+            rank = Math.min(rank, size - 1);
+            return reversed ? size - 1 - rank : rank;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return (reversed ? "latest:" : "zipfian:") + theta;
+        }
+    }
+
+    final class Hotspot implements KeyDistribution {
+        private final int size;
+
+        private final double hotOpsFraction;
+
+        private final int hotKeys;
+
+        Hotspot(int size, double hotOpsFraction, double hotKeysFraction) {
+            if (hotOpsFraction < 0 || hotOpsFraction > 1) {
+                throw new IllegalArgumentException("Hotspot ops fraction must be in [0,1]: " + hotOpsFraction);
+            }
+            if (hotKeysFraction <= 0 || hotKeysFraction > 1) {
+                throw new IllegalArgumentException("Hotspot keys fraction must be in (0,1]: " + hotKeysFraction);
+            }
+            this.size = size;
+            this.hotOpsFraction = hotOpsFraction;
+            this.hotKeys = Math.max(1, (int) (size * hotKeysFraction));
+        }
+
+        @Override
+        public int next() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (hotKeys == size || random.nextDouble() < hotOpsFraction) {
+                return random.nextInt(hotKeys);
+            }
+            return hotKeys + random.nextInt(size - hotKeys);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "hotspot:" + hotOpsFraction + ":" + ((double) hotKeys / size);
+        }
+    }
+
+    /**
+     * Maps the ranks of a skewed distribution onto a fixed permutation of the keys, so
+     * that adjacent ranks land far apart. The permutation is an affine map with a stride
+     * near the golden ratio of the key count and coprime with it.
+     */
+    final class Scrambled implements KeyDistribution {
+        private final KeyDistribution ranks;
+
+        private final long stride;
+
+        private final long offset;
+
+        Scrambled(KeyDistribution ranks) {
+            final int size = ranks.size();
+            long stride = Math.max(1, (long) (size * 0.6180339887));
+            while (gcd(stride, size) != 1) {
+                stride++;
+            }
+            this.ranks = ranks;
+            this.stride = stride;
+            this.offset = size / 2;
+        }
+
+        private static long gcd(long a, long b) {
+            return b == 0 ? a : gcd(b, a % b);
+        }
+
+        @Override
+        public int next() {
+            return (int) ((ranks.next() * stride + offset) % ranks.size());
+        }
+
+        @Override
+        public int size() {
+            return ranks.size();
+        }
+
+        @Override
+        public String toString() {
+            return ranks.toString();
+        }
+    }
+
+    final class Sequential implements KeyDistribution {
+        private final int size;
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        Sequential(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int next() {
+            return Math.floorMod(counter.getAndIncrement(), size);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return "sequential";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.cockroachdb.workload.common;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.cockroachdb.workload.common.util.FastUuid;
+import io.cockroachdb.workload.common.util.UuidV7;
+
+/**
+ * Primary key variants for event style tables, selected at init time and detected
+ * from the schema at run time.
+ */
+public enum KeyType {
+    /**
+     * Random UUID generated by the database (or client).
+     */
+    UUID("UUID", " default gen_random_uuid()"),
+    /**
+     * Time-ordered UUIDv7 generated by the client.
+     */
+    UUIDV7("UUID", ""),
+    /**
+     * Time-ordered INT8 generated by the database.
+     */
+    ROWID("INT8", " default unique_rowid()");
+
+    public static KeyType of(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown key type: " + name);
+        }
+    }
+
+    private final String columnType;
+
+    private final String columnDefault;
+
+    KeyType(String columnType, String columnDefault) {
+        this.columnType = columnType;
+        this.columnDefault = columnDefault;
+    }
+
+    public boolean isClientGenerated() {
+        return this == UUIDV7;
+    }
+
+    public Supplier<UUID> uuidSupplier() {
+        if (this == ROWID) {
+            throw new IllegalStateException("Not a UUID key type: " + this);
+        }
+        return this == UUIDV7 ? UuidV7::next : FastUuid::random;
+    }
+
+    /**
+     * @param hashSharded use a hash-sharded primary key
+     * @param secondaryIndex the secondary index DDL or empty for none
+     * @return schema template placeholders
+     */
+    public Map<String, String> placeholders(boolean hashSharded, String secondaryIndex) {
+        return Map.of(
+                "id_type", columnType,
+                "id_default", columnDefault,
+                "primary_key", hashSharded ? "primary key (id) using hash" : "primary key (id)",
+                "secondary_index", secondaryIndex);
+    }
+
+    @Override
+    public String toString() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static KeyType detect(JdbcTemplate jdbcTemplate, String table) {
+        List<Map<String, Object>> columns = jdbcTemplate.queryForList(
+                "SELECT data_type, column_default FROM information_schema.columns "
+                        + "WHERE table_schema = current_schema() AND table_name = ? AND column_name = 'id'",
+                table);
+        if (columns.isEmpty()) {
+            return UUID;
+        }
+        String dataType = String.valueOf(columns.get(0).get("data_type")).toUpperCase(Locale.ROOT);
+        if (dataType.startsWith("INT") || dataType.equals("BIGINT")) {
+            return ROWID;
+        }
+        return columns.get(0).get("column_default") == null ? UUIDV7 : UUID;
+    }
+}
@@ -0,0 +1,254 @@
+package io.cockroachdb.workload.common;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Streams interval call metrics to rolling CSV and/or NDJSON files, one record per
+ * metric per interval. Runs on the scheduled executor and only reads histogram
+ * snapshots, so worker threads are never blocked by file I/O.
+ */
+@Component
+public class MetricsExporter {
+    public enum Format {
+        CSV,
+        JSON;
+
+        public static Format of(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format: " + name);
+            }
+        }
+    }
+
+    private static final String CSV_HEADER = "timestamp,metric,threads,time_s,ops_per_sec,"
+            + "p50_ms,p90_ms,p99_ms,p999_ms,max_ms,mean_ms,success,failure,retries,"
+            + "first_try_pct,contention_ms,backoff_ms";
+
+    private static final DateTimeFormatter FILE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final Map<String, CallMetrics.Snapshot> previous = new HashMap<>();
+
+    private final Map<Format, RollingWriter> writers = new LinkedHashMap<>();
+
+    @Autowired
+    private ScheduledExecutorService scheduledExecutorService;
+
+    @Autowired
+    private CallMetrics callMetrics;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ScheduledFuture<?> exportFuture;
+
+    public synchronized boolean isRunning() {
+        return exportFuture != null;
+    }
+
+    public synchronized Path start(Path directory, List<Format> formats, int intervalSeconds, long rollSizeBytes) {
+        if (exportFuture != null) {
+            throw new IllegalStateException("Metrics export already running");
+        }
+        if (formats.isEmpty()) {
+            throw new IllegalArgumentException("No export formats");
+        }
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String baseName = "metrics-" + LocalDateTime.now().format(FILE_SUFFIX);
+        formats.forEach(format -> writers.put(format,
+                new RollingWriter(directory, baseName, format == Format.CSV ? "csv" : "ndjson",
+                        format == Format.CSV ? CSV_HEADER : null, rollSizeBytes)));
+
+        previous.clear();
+        // Prime the interval baseline so the first record only covers the first interval
+        CallMetrics.intervalsSince(previous, callMetrics.takeSnapshots());
+
+        exportFuture = scheduledExecutorService.scheduleAtFixedRate(this::export,
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+
+        logger.info("Started metrics export to {} every {} sec", directory.resolve(baseName), intervalSeconds);
+
+        return directory.resolve(baseName);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (exportFuture != null) {
+            exportFuture.cancel(false);
+            exportFuture = null;
+            export();
+            writers.values().forEach(RollingWriter::close);
+            writers.clear();
+            logger.info("Stopped metrics export");
+        }
+    }
+
+    private synchronized void export() {
+        if (writers.isEmpty()) {
+            return;
+        }
+        try {
+            String timestamp = Instant.now().toString();
+            List<CallMetrics.Snapshot> snapshots
+                    = CallMetrics.intervalsSince(previous, callMetrics.takeSnapshots());
+            for (CallMetrics.Snapshot snapshot : snapshots) {
+                for (Map.Entry<Format, RollingWriter> entry : writers.entrySet()) {
+                    entry.getValue().writeLine(entry.getKey() == Format.CSV
+                            ? toCsv(timestamp, snapshot)
+                            : toJson(timestamp, snapshot));
+                }
+            }
+            writers.values().forEach(RollingWriter::flush);
+        } catch (Exception e) {
+            logger.warn("Metrics export failed", e);
+        }
+    }
+
+    private static String toCsv(String timestamp, CallMetrics.Snapshot snapshot) {
+        return String.format(Locale.US,
+                "%s,\"%s\",%d,%.1f,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%.2f,%.3f,%.3f",
+                timestamp,
+                snapshot.getName().replace("\"", "\"\""),
+                snapshot.getConcurrency(),
+                snapshot.getExecutionTimeSeconds(),
+                snapshot.getOpsPerSec(),
+                snapshot.getPercentile(50),
+                snapshot.getPercentile(90),
+                snapshot.getPercentile(99),
+                snapshot.getPercentile(99.9),
+                snapshot.getMax(),
+                snapshot.getMean(),
+                snapshot.getSuccessfulCalls(),
+                snapshot.getFailedCalls(),
+                snapshot.getRetries(),
+                snapshot.getFirstTrySuccessRate(),
+                snapshot.getContentionCost(),
+                snapshot.getBackoffTime());
+    }
+
+    private String toJson(String timestamp, CallMetrics.Snapshot snapshot) throws JsonProcessingException {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("timestamp", timestamp);
+        record.put("metric", snapshot.getName());
+        record.put("threads", snapshot.getConcurrency());
+        record.put("time_s", snapshot.getExecutionTimeSeconds());
+        record.put("ops_per_sec", snapshot.getOpsPerSec());
+        record.put("p50_ms", snapshot.getPercentile(50));
+        record.put("p90_ms", snapshot.getPercentile(90));
+        record.put("p99_ms", snapshot.getPercentile(99));
+        record.put("p999_ms", snapshot.getPercentile(99.9));
+        record.put("max_ms", snapshot.getMax());
+        record.put("mean_ms", snapshot.getMean());
+        record.put("success", snapshot.getSuccessfulCalls());
+        record.put("failure", snapshot.getFailedCalls());
+        record.put("retries", snapshot.getRetries());
+        record.put("first_try_pct", snapshot.getFirstTrySuccessRate());
+        record.put("contention_ms", snapshot.getContentionCost());
+        record.put("backoff_ms", snapshot.getBackoffTime());
+        return objectMapper.writeValueAsString(record);
+    }
+
+    private static class RollingWriter {
+        private final Path directory;
+
+        private final String baseName;
+
+        private final String extension;
+
+        private final String header;
+
+        private final long rollSizeBytes;
+
+        private int sequence;
+
+        private long bytesWritten;
+
+        private BufferedWriter writer;
+
+        RollingWriter(Path directory, String baseName, String extension, String header, long rollSizeBytes) {
+            this.directory = directory;
+            this.baseName = baseName;
+            this.extension = extension;
+            this.header = header;
+            this.rollSizeBytes = rollSizeBytes;
+        }
+
+        void writeLine(String line) throws IOException {
+            if (writer == null || (rollSizeBytes > 0 && bytesWritten >= rollSizeBytes)) {
+                roll();
+            }
+            writer.write(line);
+            writer.newLine();
+            bytesWritten += line.length() + 1;
+        }
+
+        private void roll() throws IOException {
+            close();
+            Path path = directory.resolve(sequence == 0
+                    ? baseName + "." + extension
+                    : baseName + "-" + sequence + "." + extension);
+            sequence++;
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            bytesWritten = 0;
+            if (header != null) {
+                writeLine(header);
+            }
+        }
+
+        void flush() {
+            try {
+                if (writer != null) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void close() {
+            try {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package io.cockroachdb.workload.common;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.cockroachdb.workload.common.aspect.RetryableAspect;
+import io.cockroachdb.workload.common.command.ConnectionPoolStats;
+import io.cockroachdb.workload.common.command.ThreadPoolStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Embedded HTTP endpoint exposing call metrics, pool stats and retry counts in the
+ * OpenMetrics text format for Prometheus to scrape.
+ * <p>
+ * Everything is computed at scrape time from full-run histogram snapshots and pool
+ * MXBeans, so the {@link CallMetrics.Context} hot path is unaffected. The text format
+ * can't carry Prometheus native (sparse) histograms, so latency histograms are exposed
+ * with fixed exponential buckets derived from the HDR histograms, along with exact
+ * percentiles as a summary. The sum of both families is approximated as the HDR mean
+ * times the count since the histograms don't track an exact total.
+ */
+@Component
+public class PrometheusEndpoint {
+    private static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+    /**
+     * Exponential bucket boundaries in seconds, from 100µs doubling up to ~52s.
+     */
+    private static final double[] BUCKETS = new double[20];
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999, 0.9999};
+
+    static {
+        for (int i = 0; i < BUCKETS.length; i++) {
+            BUCKETS[i] = 0.0001 * (1L << i);
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    @Value("${cockroachdb.workload.prometheus.enabled}")
+    private boolean enabled;
+
+    @Value("${cockroachdb.workload.prometheus.port}")
+    private int defaultPort;
+
+    @Autowired
+    private CallMetrics callMetrics;
+
+    @Autowired
+    private ExecutorTemplate executorTemplate;
+
+    @Autowired
+    private HikariDataSource hikariDataSource;
+
+    @Autowired(required = false)
+    private RetryableAspect retryableAspect;
+
+    private HttpServer httpServer;
+
+    private ExecutorService httpExecutor;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            start(defaultPort);
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return httpServer != null;
+    }
+
+    public synchronized void start(int port) {
+        if (httpServer != null) {
+            throw new IllegalStateException("Prometheus endpoint already running");
+        }
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        httpExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "prometheus");
+            t.setDaemon(true);
+            return t;
+        });
+        httpServer.createContext("/metrics", this::handleScrape);
+        httpServer.setExecutor(httpExecutor);
+        httpServer.start();
+        logger.info("Started Prometheus endpoint at http://localhost:{}/metrics", port);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpExecutor.shutdownNow();
+            httpServer = null;
+            httpExecutor = null;
+            logger.info("Stopped Prometheus endpoint");
+        }
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Scrape failed", e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    public String scrape() {
+        StringBuilder sb = new StringBuilder(8192);
+
+        List<CallMetrics.Snapshot> snapshots = callMetrics.takeSnapshots();
+
+        type(sb, "workload_call_duration_seconds", "histogram", "Call latency");
+        sb.append("# UNIT workload_call_duration_seconds seconds\n");
+        snapshots.forEach(snapshot -> {
+            Histogram histogram = snapshot.getHistogram();
+            String name = escape(snapshot.getName());
+            for (double le : BUCKETS) {
+                long count = histogram.getTotalCount() > 0
+                        ? histogram.getCountBetweenValues(0, (long) (le * 1_000_000)) : 0;
+                sample(sb, "workload_call_duration_seconds_bucket", "name=\"" + name + "\",le=\"" + le + "\"", count);
+            }
+            sample(sb, "workload_call_duration_seconds_bucket", "name=\"" + name + "\",le=\"+Inf\"",
+                    histogram.getTotalCount());
+            sample(sb, "workload_call_duration_seconds_count", "name=\"" + name + "\"",
+                    histogram.getTotalCount());
+            sample(sb, "workload_call_duration_seconds_sum", "name=\"" + name + "\"", approximateSum(histogram));
+        });
+
+        type(sb, "workload_call_latency_seconds", "summary", "Call latency percentiles over the full run");
+        sb.append("# UNIT workload_call_latency_seconds seconds\n");
+        snapshots.forEach(snapshot -> {
+            Histogram histogram = snapshot.getHistogram();
+            String name = escape(snapshot.getName());
+            for (double q : QUANTILES) {
+                sample(sb, "workload_call_latency_seconds", "name=\"" + name + "\",quantile=\"" + q + "\"",
+                        snapshot.getPercentile(q * 100) / 1000);
+            }
+            sample(sb, "workload_call_latency_seconds_count", "name=\"" + name + "\"",
+                    histogram.getTotalCount());
+            sample(sb, "workload_call_latency_seconds_sum", "name=\"" + name + "\"", approximateSum(histogram));
+        });
+
+        type(sb, "workload_calls", "counter", "Completed calls by outcome");
+        snapshots.forEach(snapshot -> {
+            String name = escape(snapshot.getName());
+            sample(sb, "workload_calls_total", "name=\"" + name + "\",outcome=\"success\"",
+                    snapshot.getSuccessfulCalls());
+            sample(sb, "workload_calls_total", "name=\"" + name + "\",outcome=\"failure\"",
+                    snapshot.getFailedCalls());
+        });
+
+        type(sb, "workload_call_retries", "counter", "Transient error retries by worker");
+        snapshots.forEach(snapshot -> sample(sb, "workload_call_retries_total",
+                "name=\"" + escape(snapshot.getName()) + "\"", snapshot.getRetries()));
+
+        type(sb, "workload_call_first_try_success", "counter", "Calls that succeeded without retries");
+        snapshots.forEach(snapshot -> sample(sb, "workload_call_first_try_success_total",
+                "name=\"" + escape(snapshot.getName()) + "\"", snapshot.getFirstTrySuccessfulCalls()));
+
+        type(sb, "workload_call_contention_seconds", "counter", "Time lost to failed attempts and backoff");
+        sb.append("# UNIT workload_call_contention_seconds seconds\n");
+        snapshots.forEach(snapshot -> sample(sb, "workload_call_contention_seconds_total",
+                "name=\"" + escape(snapshot.getName()) + "\"", snapshot.getContentionNanos() / 1e9));
+
+        type(sb, "workload_call_backoff_seconds", "counter", "Time spent backing off before retries");
+        sb.append("# UNIT workload_call_backoff_seconds seconds\n");
+        snapshots.forEach(snapshot -> sample(sb, "workload_call_backoff_seconds_total",
+                "name=\"" + escape(snapshot.getName()) + "\"", snapshot.getBackoffNanos() / 1e9));
+
+        type(sb, "workload_workers", "gauge", "Active workers");
+        snapshots.forEach(snapshot -> sample(sb, "workload_workers",
+                "name=\"" + escape(snapshot.getName()) + "\"", snapshot.getConcurrency()));
+
+        if (retryableAspect != null) {
+            type(sb, "workload_method_retries", "counter", "Retryable transient errors by transaction boundary");
+            Map<String, Long> retryCounts = retryableAspect.getRetryCounts();
+            retryCounts.forEach((method, count) -> sample(sb, "workload_method_retries_total",
+                    "method=\"" + escape(method) + "\"", count));
+        }
+
+        ConcurrencyLimiter limiter = executorTemplate.getConcurrencyLimiter();
+        ThreadPoolStats threadPoolStats = ThreadPoolStats.from(executorTemplate.getThreadPoolExecutor(), limiter);
+        gauge(sb, "workload_thread_pool_size", "Current thread pool size", threadPoolStats.poolSize);
+        gauge(sb, "workload_thread_pool_core_size", "Core thread pool size", threadPoolStats.corePoolSize);
+        gauge(sb, "workload_thread_pool_largest_size", "Largest thread pool size", threadPoolStats.largestPoolSize);
+        gauge(sb, "workload_thread_pool_active", "Active threads", threadPoolStats.activeCount);
+        type(sb, "workload_thread_pool_completed_tasks", "counter", "Completed tasks");
+        sample(sb, "workload_thread_pool_completed_tasks_total", null, threadPoolStats.completedTaskCount);
+        if (limiter.isEnabled()) {
+            gauge(sb, "workload_limiter_active", "Active concurrency limiter permits",
+                    threadPoolStats.limiterActiveCount);
+            gauge(sb, "workload_limiter_waiting", "Workers waiting for a concurrency limiter permit",
+                    threadPoolStats.limiterQueueLength);
+        }
+
+        HikariPoolMXBean poolMXBean = hikariDataSource.getHikariPoolMXBean();
+        if (poolMXBean != null) {
+            ConnectionPoolStats poolStats = ConnectionPoolStats.from(poolMXBean);
+            gauge(sb, "workload_connection_pool_active", "Active connections", poolStats.activeConnections);
+            gauge(sb, "workload_connection_pool_idle", "Idle connections", poolStats.idleConnections);
+            gauge(sb, "workload_connection_pool_waiting", "Threads awaiting a connection",
+                    poolStats.threadsAwaitingConnection);
+            gauge(sb, "workload_connection_pool_total", "Total connections", poolStats.totalConnections);
+        }
+        gauge(sb, "workload_connection_pool_max", "Max connection pool size", hikariDataSource.getMaximumPoolSize());
+
+        double loadAvg = ManagementFactory.getOperatingSystemMXBean().getSystemLoadAverage();
+        if (loadAvg >= 0) {
+            gauge(sb, "workload_load_average", "System load average", loadAvg);
+        }
+
+        sb.append("# EOF\n");
+        return sb.toString();
+    }
+
+    private static double approximateSum(Histogram histogram) {
+        return histogram.getTotalCount() > 0 ? histogram.getMean() * histogram.getTotalCount() / 1_000_000 : 0;
+    }
+
+    private static void type(StringBuilder sb, String family, String type, String help) {
+        sb.append("# TYPE ").append(family).append(' ').append(type).append('\n');
+        sb.append("# HELP ").append(family).append(' ').append(help).append('\n');
+    }
+
+    private static void gauge(StringBuilder sb, String family, String help, double value) {
+        type(sb, family, "gauge", help);
+        sample(sb, family, null, value);
+    }
+
+    private static void sample(StringBuilder sb, String name, String labels, double value) {
+        sb.append(name);
+        if (labels != null) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            sb.append((long) value);
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
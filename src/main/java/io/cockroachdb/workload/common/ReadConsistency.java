@@ -0,0 +1,128 @@
+package io.cockroachdb.workload.common;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Read consistency mode for point reads, mapped to an AS OF SYSTEM TIME clause.
+ * <p>
+ * Modes are created from a spec in the form {@code name[:param]}:
+ * <ul>
+ *     <li>strong - read the latest committed value from the leaseholder (no clause)</li>
+ *     <li>follower - exact staleness at follower_read_timestamp()</li>
+ *     <li>exact:interval - exact staleness at a fixed interval in the past, e.g. exact:-5s</li>
+ *     <li>max-staleness:interval - bounded staleness with with_max_staleness(), e.g. max-staleness:10s</li>
+ *     <li>min-timestamp:interval|timestamp - bounded staleness with with_min_timestamp(), either
+ *     relative to now, e.g. min-timestamp:-10s, or absolute, e.g. min-timestamp:2024-01-01T00:00:00Z</li>
+ * </ul>
+ * Bounded staleness reads are only allowed in single-statement implicit transactions.
+ */
+public final class ReadConsistency {
+    public static final String HELP = "read consistency (strong|follower|exact:-5s|max-staleness:10s"
+            + "|min-timestamp:-10s|min-timestamp:<timestamp>)";
+
+    public static final ReadConsistency STRONG = new ReadConsistency("strong", null, false);
+
+    public static final ReadConsistency FOLLOWER
+            = new ReadConsistency("follower", "follower_read_timestamp()", false);
+
+    private static final Pattern INTERVAL_PATTERN
+            = Pattern.compile("-?([0-9]+(\\.[0-9]+)?(us|ms|s|m|h))+");
+
+    private static final Pattern TIMESTAMP_PATTERN
+            = Pattern.compile("[0-9]{4}-[0-9]{2}-[0-9]{2}([ T][0-9:.]+)?(Z|[+-][0-9:]+)?");
+
+    public static ReadConsistency of(String spec) {
+        final String[] parts = spec.trim().split(":", 2);
+        final String name = parts[0].toLowerCase(Locale.ROOT);
+        final String param = parts.length > 1 ? parts[1].trim() : null;
+
+        switch (name) {
+            case "strong":
+                return STRONG;
+            case "follower":
+                return FOLLOWER;
+            case "exact": {
+                String interval = requireInterval(spec, param);
+                if (!interval.startsWith("-")) {
+                    interval = "-" + interval;
+                }
+                return new ReadConsistency("exact:" + interval, "'" + interval + "'", false);
+            }
+            case "max-staleness": {
+                String interval = requireInterval(spec, param);
+                if (interval.startsWith("-")) {
+                    throw new IllegalArgumentException("Max staleness must be positive: " + spec);
+                }
+                return new ReadConsistency("max-staleness:" + interval,
+                        "with_max_staleness('" + interval + "')", true);
+            }
+            case "min-timestamp": {
+                if (param != null && INTERVAL_PATTERN.matcher(param).matches()) {
+                    String interval = param.startsWith("-") ? param.substring(1) : param;
+                    return new ReadConsistency("min-timestamp:-" + interval,
+                            "with_min_timestamp(now() - '" + interval + "'::INTERVAL)", true);
+                }
+                if (param != null && TIMESTAMP_PATTERN.matcher(param).matches()) {
+                    return new ReadConsistency("min-timestamp:" + param,
+                            "with_min_timestamp('" + param + "'::TIMESTAMPTZ)", true);
+                }
+                throw new IllegalArgumentException("Expected interval or timestamp: " + spec);
+            }
+            default:
+                throw new IllegalArgumentException("Unknown read consistency: " + spec);
+        }
+    }
+
+    private static String requireInterval(String spec, String param) {
+        if (param == null || !INTERVAL_PATTERN.matcher(param).matches()) {
+            throw new IllegalArgumentException("Expected interval such as 10s: " + spec);
+        }
+        return param;
+    }
+
+    private final String name;
+
+    private final String asOfSystemTime;
+
+    private final String asOfSystemTimeClause;
+
+    private final boolean boundedStaleness;
+
+    private ReadConsistency(String name, String asOfSystemTime, boolean boundedStaleness) {
+        this.name = name;
+        this.asOfSystemTime = asOfSystemTime;
+        this.asOfSystemTimeClause = asOfSystemTime != null ? "AS OF SYSTEM TIME " + asOfSystemTime : "";
+        this.boundedStaleness = boundedStaleness;
+    }
+
+    public boolean isStrong() {
+        return asOfSystemTime == null;
+    }
+
+    /**
+     * @return true if the mode may only be used in single-statement implicit transactions
+     */
+    public boolean isBoundedStaleness() {
+        return boundedStaleness;
+    }
+
+    /**
+     * @return the AS OF SYSTEM TIME expression, or null for strong reads
+     */
+    public String getAsOfSystemTime() {
+        return asOfSystemTime;
+    }
+
+    /**
+     * @return AS OF SYSTEM TIME clause, or an empty string for strong reads
+     */
+    public String asOfSystemTimeClause() {
+        return asOfSystemTimeClause;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,9 +1,10 @@
 package io.cockroachdb.workload.common.aspect;
 
-import java.lang.reflect.UndeclaredThrowableException;
 import java.sql.SQLException;
-import java.time.Duration;
-import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -14,18 +15,29 @@ import org.springframework.core.NestedExceptionUtils;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.Order;
-import org.springframework.dao.ConcurrencyFailureException;
-import org.springframework.dao.TransientDataAccessException;
-import org.springframework.orm.jpa.JpaSystemException;
-import org.springframework.transaction.TransactionSystemException;
+import org.springframework.dao.DataAccessException;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
+import io.cockroachdb.workload.common.retry.ErrorCategory;
+import io.cockroachdb.workload.common.retry.RetryEngine;
+
 @Aspect
 @Order(Ordered.LOWEST_PRECEDENCE - 20) // This advisor must be before the TX advisor in the call chain
 public class RetryableAspect {
     private final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private final Map<String, LongAdder> retryCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @return number of retryable transient errors per method signature
+     */
+    public Map<String, Long> getRetryCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        retryCounts.forEach((method, count) -> counts.put(method, count.sum()));
+        return counts;
+    }
+
     @Around(value = "io.cockroachdb.workload.common.aspect.Pointcuts.anyTransactionBoundaryOperation(transactionBoundary)",
             argNames = "pjp,transactionBoundary")
     public Object doInTransaction(ProceedingJoinPoint pjp, TransactionBoundary transactionBoundary)
@@ -38,71 +50,33 @@ public class RetryableAspect {
                     .findAnnotation(pjp.getSignature().getDeclaringType(), TransactionBoundary.class);
         }
 
-        int numCalls = 0;
-
-        final Instant callTime = Instant.now();
-
-        do {
-            Throwable t;
-            try {
-                numCalls++;
-                Object rv = pjp.proceed();
-                if (numCalls > 1) {
-                    logger.debug(
-                            "Transient error recovered after " + numCalls + " of "
-                                    + transactionBoundary.retryAttempts() + " retries ("
-                                    + Duration.between(callTime, Instant.now()).toString() + ")");
-                }
-                return rv;
-            } catch (TransientDataAccessException | TransactionSystemException | JpaSystemException ex) {
-                t = ex;
-            } catch (UndeclaredThrowableException ex) {
-                Throwable ut = ex.getUndeclaredThrowable();
-                while (ut instanceof UndeclaredThrowableException) {
-                    ut = ((UndeclaredThrowableException) ut).getUndeclaredThrowable();
-                }
-                t = ut;
-            }
+        final String method = pjp.getSignature().toShortString();
 
-            Throwable cause = NestedExceptionUtils.getMostSpecificCause(t);
-            if (cause instanceof SQLException) {
-                SQLException sqlException = (SQLException) cause;
-                // 08006 - tx timeout?
-                // 57014 - stmt timeout?
-                if ("40001".equals(sqlException.getSQLState())) { // Transient error code
-                    handleTransientException(sqlException, numCalls, pjp.getSignature().toShortString(),
-                            transactionBoundary.maxBackoff());
-                    continue;
+        try {
+            return RetryEngine.execute(() -> {
+                try {
+                    return pjp.proceed();
+                } catch (Throwable t) {
+                    if (ErrorCategory.classify(t).isRetryable()) {
+                        retryCounts.computeIfAbsent(method, k -> new LongAdder()).increment();
+                    }
+                    throw t;
                 }
-
+            }, method, Math.max(1, transactionBoundary.retryAttempts()), transactionBoundary.maxBackoff());
+        } catch (SQLException | DataAccessException ex) {
+            if (!ErrorCategory.classify(ex).isTransient()) {
                 // Non-transient and futile
-                logger.warn("Non-transient SQL error state: {} code: {} message: {}",
-                        sqlException.getSQLState(), sqlException.getErrorCode(), sqlException.getMessage());
-                SQLException next = sqlException.getNextException();
-                while (next != null) {
-                    logger.warn("Non-transient SQL error state: {} code: {} message: {}",
-                            sqlException.getSQLState(), sqlException.getErrorCode(), sqlException.getMessage());
-                    next = sqlException.getNextException();
+                Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+                if (cause instanceof SQLException) {
+                    SQLException next = (SQLException) cause;
+                    while (next != null) {
+                        logger.warn("Non-transient SQL error state: {} code: {} message: {}",
+                                next.getSQLState(), next.getErrorCode(), next.getMessage());
+                        next = next.getNextException();
+                    }
                 }
             }
-            throw t; // Propagate up the stack
-        } while (numCalls < transactionBoundary.retryAttempts());
-
-        throw new ConcurrencyFailureException("Too many transient errors (" + numCalls + ") for method ["
-                + pjp.getSignature().toShortString() + "]. Giving up!");
-    }
-
-    private void handleTransientException(SQLException ex, int numCalls, String method, long maxBackoff) {
-        try {
-            long backoffMillis = Math.min((long) (Math.pow(2, numCalls) + Math.random() * 1000), maxBackoff);
-            if (numCalls <= 1 && logger.isWarnEnabled()) {
-                logger.warn("Transient error (backoff {}ms) in call {} to '{}': {}",
-                        backoffMillis, numCalls, method, ex.getMessage());
-            }
-            Thread.sleep(backoffMillis);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            throw ex;
         }
     }
 }
-
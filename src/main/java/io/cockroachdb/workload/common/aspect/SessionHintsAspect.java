@@ -1,20 +1,38 @@
 package io.cockroachdb.workload.common.aspect;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.postgresql.PGConnection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.cockroachdb.workload.common.CallMetrics;
+
+/**
+ * Applies {@link TransactionBoundary} session and transaction hints at the start of each
+ * transaction. All hints are sent in a single multi-statement round-trip, and session
+ * variables such as timeouts are skipped when the pooled connection already has the value.
+ */
 @Aspect
 @Order(Ordered.LOWEST_PRECEDENCE - 1) // This advisor must be after the TX advisor in the call chain
 public class SessionHintsAspect {
@@ -23,6 +41,18 @@ public class SessionHintsAspect {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private CallMetrics callMetrics;
+
+    /**
+     * Session variables last committed per physical connection, so they are only set when changed.
+     */
+    private final Cache<Object, Map<String, String>> sessionVariablesByConnection = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    private volatile CallMetrics.Context hintsContext;
+
     @Around(value = "io.cockroachdb.workload.common.aspect.Pointcuts.anyTransactionBoundaryOperation(transactionBoundary)",
             argNames = "pjp,transactionBoundary")
     public Object doInTransaction(ProceedingJoinPoint pjp, TransactionBoundary transactionBoundary)
@@ -48,34 +78,97 @@ public class SessionHintsAspect {
     }
 
     private void applyVariables(TransactionBoundary transactionBoundary) {
+        final Map<String, String> sessionVariables = new LinkedHashMap<>();
         if (!"".equals(transactionBoundary.transactionTimeout())) {
-            jdbcTemplate.update("SET idle_in_transaction_session_timeout=?",
-                    transactionBoundary.transactionTimeout());
-            jdbcTemplate.update("SET statement_timeout=?",
-                    transactionBoundary.transactionTimeout());
+            sessionVariables.put("idle_in_transaction_session_timeout", transactionBoundary.transactionTimeout());
+            sessionVariables.put("statement_timeout", transactionBoundary.transactionTimeout());
         } else {
             if (!"".equals(transactionBoundary.statementTimeout())) {
-                jdbcTemplate.update("SET statement_timeout=?",
-                        transactionBoundary.statementTimeout());
+                sessionVariables.put("statement_timeout", transactionBoundary.statementTimeout());
             }
 
             if (!"".equals(transactionBoundary.idleInTransactionSessionTimeout())) {
-                jdbcTemplate.update("SET idle_in_transaction_session_timeout=?",
+                sessionVariables.put("idle_in_transaction_session_timeout",
                         transactionBoundary.idleInTransactionSessionTimeout());
             }
         }
 
+        final List<String> transactionModes = new ArrayList<>();
         if (!TransactionBoundary.Priority.normal.equals(transactionBoundary.priority())) {
-            jdbcTemplate.execute("SET TRANSACTION PRIORITY " + transactionBoundary.priority().name());
+            transactionModes.add("PRIORITY " + transactionBoundary.priority().name());
         }
 
         if (transactionBoundary.readOnly()) {
-            jdbcTemplate.execute("SET transaction_read_only=true");
+            transactionModes.add("READ ONLY");
         }
 
         if (transactionBoundary.followerRead()) {
-            jdbcTemplate.execute("SET TRANSACTION AS OF SYSTEM TIME follower_read_timestamp()");
+            transactionModes.add("AS OF SYSTEM TIME follower_read_timestamp()");
+        }
+
+        final List<String> statements = new ArrayList<>();
+        if (!sessionVariables.isEmpty()) {
+            statements.addAll(changedSessionVariables(sessionVariables));
+        }
+        if (!transactionModes.isEmpty()) {
+            statements.add("SET TRANSACTION " + String.join(", ", transactionModes));
+        }
+
+        if (statements.isEmpty()) {
+            return;
+        }
+
+        // One multi-statement round-trip rather than one per hint
+        final long startTime = System.nanoTime();
+        jdbcTemplate.execute(String.join("; ", statements));
+        hintsContext().record(System.nanoTime() - startTime);
+    }
+
+    private CallMetrics.Context hintsContext() {
+        CallMetrics.Context context = hintsContext;
+        if (context == null || context.isCleared()) {
+            context = callMetrics.of("session hints", () -> 1);
+            hintsContext = context;
         }
+        return context;
+    }
+
+    private List<String> changedSessionVariables(Map<String, String> variables) {
+        final Object connectionKey = physicalConnection();
+        final Map<String, String> current = sessionVariablesByConnection.getIfPresent(connectionKey);
+
+        final List<String> statements = new ArrayList<>();
+        variables.forEach((name, value) -> {
+            if (current == null || !value.equals(current.get(name))) {
+                statements.add("SET " + name + " = '" + value.replace("'", "''") + "'");
+            }
+        });
+
+        if (!statements.isEmpty()) {
+            // Session variables set in a transaction that is rolled back may be reverted
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        Map<String, String> updated = current != null ? new HashMap<>(current) : new HashMap<>();
+                        updated.putAll(variables);
+                        sessionVariablesByConnection.put(connectionKey, updated);
+                    } else {
+                        sessionVariablesByConnection.invalidate(connectionKey);
+                    }
+                }
+            });
+        }
+
+        return statements;
     }
-}
 
+    /**
+     * @return the pooled physical connection bound to the current transaction, which
+     * outlives the logical connection handles
+     */
+    private Object physicalConnection() {
+        return jdbcTemplate.execute((ConnectionCallback<Object>) connection ->
+                connection.isWrapperFor(PGConnection.class) ? connection.unwrap(PGConnection.class) : connection);
+    }
+}
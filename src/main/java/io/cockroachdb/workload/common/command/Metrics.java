@@ -5,10 +5,13 @@ import java.lang.management.MemoryMXBean;
 import java.lang.management.OperatingSystemMXBean;
 import java.lang.management.RuntimeMXBean;
 import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
@@ -30,7 +33,10 @@ import org.springframework.util.ReflectionUtils;
 import com.zaxxer.hikari.HikariDataSource;
 
 import io.cockroachdb.workload.common.CallMetrics;
+import io.cockroachdb.workload.common.MetricsExporter;
+import io.cockroachdb.workload.common.PrometheusEndpoint;
 import io.cockroachdb.workload.common.config.DataSourceConfig;
+import io.cockroachdb.workload.common.util.Multiplier;
 import jakarta.annotation.PostConstruct;
 
 @ShellComponent
@@ -44,6 +50,12 @@ public class Metrics extends AbstractCommand {
     @Autowired
     private CallMetrics callMetrics;
 
+    @Autowired
+    private MetricsExporter metricsExporter;
+
+    @Autowired
+    private PrometheusEndpoint prometheusEndpoint;
+
     private ScheduledFuture<?> metricsFuture;
 
     @PostConstruct
@@ -56,9 +68,7 @@ public class Metrics extends AbstractCommand {
             if (metricsFuture != null && getExecutorTemplate().hasActiveWorkers()) {
                 try {
                     mutex.acquire();
-                    getConsole().successf("%s", callMetrics.prettyPrintHeader());
-                    getConsole().infof("%s", callMetrics.prettyPrintBody());
-                    getConsole().warnf("%s", callMetrics.prettyPrintFooter());
+                    printMetrics(callMetrics.takeIntervalSnapshots());
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 } finally {
@@ -68,6 +78,24 @@ public class Metrics extends AbstractCommand {
         };
     }
 
+    private void printMetrics(List<CallMetrics.Snapshot> snapshots) {
+        getConsole().successf("%s", callMetrics.prettyPrintHeader());
+        getConsole().infof("%s", callMetrics.prettyPrintBody(snapshots));
+        getConsole().warnf("%s", callMetrics.prettyPrintFooter(snapshots));
+    }
+
+    @ShellMethod(value = "Print full-run call metrics", key = {"metrics-summary", "ms"})
+    public void metricsSummary() {
+        try {
+            mutex.acquire();
+            printMetrics(callMetrics.takeSnapshots());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            mutex.release();
+        }
+    }
+
     @ShellMethod(value = "Clear call metrics", key = {"clear-metrics", "cm"})
     public void clearMetrics() {
         callMetrics.clear();
@@ -86,6 +114,35 @@ public class Metrics extends AbstractCommand {
         }
     }
 
+    @ShellMethod(value = "Toggle metrics export to rolling CSV and NDJSON files", key = {"export-metrics", "em"})
+    public void toggleExport(
+            @ShellOption(help = "output directory", defaultValue = "metrics") String dir,
+            @ShellOption(help = "export formats (csv,json)", defaultValue = "csv,json") String formats,
+            @ShellOption(help = "export interval in seconds", defaultValue = "5") int interval,
+            @ShellOption(help = "roll over files at size in bytes (0 disables)", defaultValue = "64M") String rollSize) {
+        if (metricsExporter.isRunning()) {
+            metricsExporter.stop();
+            getConsole().infof("Metrics export is OFF");
+        } else {
+            List<MetricsExporter.Format> formatList = Arrays.stream(formats.split(","))
+                    .map(MetricsExporter.Format::of)
+                    .toList();
+            Path path = metricsExporter.start(Paths.get(dir), formatList, interval, Multiplier.parseInt(rollSize));
+            getConsole().infof("Metrics export is ON with interval %d sec to %s.*", interval, path);
+        }
+    }
+
+    @ShellMethod(value = "Toggle Prometheus scrape endpoint", key = {"prometheus", "prom"})
+    public void togglePrometheus(@ShellOption(help = "listen port", defaultValue = "9464") int port) {
+        if (prometheusEndpoint.isRunning()) {
+            prometheusEndpoint.stop();
+            getConsole().infof("Prometheus endpoint is OFF");
+        } else {
+            prometheusEndpoint.start(port);
+            getConsole().infof("Prometheus endpoint is ON at http://localhost:%d/metrics", port);
+        }
+    }
+
     @ShellMethod(value = "Toggle SQL tracing output to 'workload.log'", key = {"trace", "t"})
     public void toggleTrace() {
         ch.qos.logback.classic.LoggerContext loggerContext = (ch.qos.logback.classic.LoggerContext) LoggerFactory
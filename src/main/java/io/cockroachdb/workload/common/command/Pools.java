@@ -26,6 +26,7 @@ import com.zaxxer.hikari.HikariConfigMXBean;
 import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.HikariPoolMXBean;
 
+import io.cockroachdb.workload.common.ConcurrencyLimiter;
 import jakarta.annotation.PostConstruct;
 
 @ShellComponent
@@ -50,7 +51,8 @@ public class Pools extends AbstractCommand {
 
     private Runnable poolMetricsSampler() {
         return () -> {
-            aggregatedThreadPoolStats.add(ThreadPoolStats.from(getExecutorTemplate().getThreadPoolExecutor()));
+            aggregatedThreadPoolStats.add(ThreadPoolStats.from(getExecutorTemplate().getThreadPoolExecutor(),
+                    getExecutorTemplate().getConcurrencyLimiter()));
             OperatingSystemMXBean mxBean = ManagementFactory.getOperatingSystemMXBean();
             if (mxBean.getSystemLoadAverage() != -1) {
                 aggregatedLoadAvg.add(mxBean.getSystemLoadAverage());
@@ -71,7 +73,7 @@ public class Pools extends AbstractCommand {
             int maxSize,
             @ShellOption(help = "connection pool min idle size (same as max size)", defaultValue = "75")
             int minIdle,
-            @ShellOption(help = "core thread pool size (default: 2x maxSize)", defaultValue = "-1") int coreThreads)
+            @ShellOption(help = "core thread pool size (default: 2x maxSize, ignored for virtual threads)", defaultValue = "-1") int coreThreads)
             throws
             SQLException {
         HikariDataSource ds = getDataSource().unwrap(HikariDataSource.class);
@@ -82,6 +84,13 @@ public class Pools extends AbstractCommand {
         getConsole().infof("Set min idle pool size to %d", minIdle);
         ds.setMinimumIdle(minIdle);
 
+        ConcurrencyLimiter limiter = getExecutorTemplate().getConcurrencyLimiter();
+        if (limiter.isEnabled()) {
+            getConsole().infof("Set concurrency limit to %d", maxSize);
+            limiter.setMaxPermits(maxSize);
+            return;
+        }
+
         if (coreThreads < 0) {
             coreThreads = maxSize * 2;
         }
@@ -97,7 +106,9 @@ public class Pools extends AbstractCommand {
         HikariDataSource ds = getDataSource().unwrap(HikariDataSource.class);
 
         Runnable r = () -> {
-            ThreadPoolStats threadPoolStats = ThreadPoolStats.from(getExecutorTemplate().getThreadPoolExecutor());
+            ConcurrencyLimiter limiter = getExecutorTemplate().getConcurrencyLimiter();
+            ThreadPoolStats threadPoolStats = ThreadPoolStats.from(getExecutorTemplate().getThreadPoolExecutor(),
+                    limiter);
             getConsole().successf(">> Thread Pool Status:");
             getConsole().infof("poolSize: %s", threadPoolStats.poolSize);
             getConsole().infof("maximumPoolSize: %s", threadPoolStats.maximumPoolSize);
@@ -107,6 +118,13 @@ public class Pools extends AbstractCommand {
             getConsole().infof("taskCount: %s", threadPoolStats.taskCount);
             getConsole().infof("largestPoolSize: %s", threadPoolStats.largestPoolSize);
 
+            if (limiter.isEnabled()) {
+                getConsole().successf(">> Concurrency Limiter Status:");
+                getConsole().infof("maxPermits: %s", limiter.getMaxPermits());
+                getConsole().infof("activeCount: %s", threadPoolStats.limiterActiveCount);
+                getConsole().infof("queueLength: %s", threadPoolStats.limiterQueueLength);
+            }
+
             HikariPoolMXBean hikariPoolMXBean = ds.getHikariPoolMXBean();
             getConsole().successf(">> Connection Pool Status:");
             getConsole().infof("activeConnections: %s", hikariPoolMXBean.getActiveConnections());
@@ -126,7 +144,7 @@ public class Pools extends AbstractCommand {
             getConsole().infof("leakDetectionThreshold: %s", hikariConfigMXBean.getLeakDetectionThreshold());
             getConsole().infof("catalog: %s", hikariConfigMXBean.getCatalog());
 
-            if (threadPoolStats.corePoolSize < hikariConfigMXBean.getMaximumPoolSize()) {
+            if (!limiter.isEnabled() && threadPoolStats.corePoolSize < hikariConfigMXBean.getMaximumPoolSize()) {
                 getConsole().warnf(
                         "Note: Thread pool size is smaller than connection pool size.");
             }
@@ -168,6 +186,14 @@ public class Pools extends AbstractCommand {
                     printSummaryStats("completedTaskCount",
                             threadPoolStats.completedTaskCount,
                             aggregatedThreadPoolStats.stream().mapToLong(value -> value.completedTaskCount));
+                    if (getExecutorTemplate().getConcurrencyLimiter().isEnabled()) {
+                        printSummaryStats("limiterActive",
+                                threadPoolStats.limiterActiveCount,
+                                aggregatedThreadPoolStats.stream().mapToInt(value -> value.limiterActiveCount));
+                        printSummaryStats("limiterWaiting",
+                                threadPoolStats.limiterQueueLength,
+                                aggregatedThreadPoolStats.stream().mapToInt(value -> value.limiterQueueLength));
+                    }
                 }
 
                 if (!aggregatedLoadAvg.isEmpty()) {
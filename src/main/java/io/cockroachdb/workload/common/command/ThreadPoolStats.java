@@ -2,7 +2,18 @@ package io.cockroachdb.workload.common.command;
 
 import java.util.concurrent.ThreadPoolExecutor;
 
+import io.cockroachdb.workload.common.ConcurrencyLimiter;
+
 public class ThreadPoolStats {
+    public static ThreadPoolStats from(ThreadPoolExecutor pool, ConcurrencyLimiter limiter) {
+        ThreadPoolStats instance = from(pool);
+        if (limiter.isEnabled()) {
+            instance.limiterActiveCount = limiter.getMaxPermits() - limiter.getAvailablePermits();
+            instance.limiterQueueLength = limiter.getQueueLength();
+        }
+        return instance;
+    }
+
     public static ThreadPoolStats from(ThreadPoolExecutor pool) {
         ThreadPoolStats instance = new ThreadPoolStats();
         instance.corePoolSize = pool.getCorePoolSize();
@@ -28,4 +39,8 @@ public class ThreadPoolStats {
     public int largestPoolSize;
 
     public long completedTaskCount;
+
+    public int limiterActiveCount;
+
+    public int limiterQueueLength;
 }
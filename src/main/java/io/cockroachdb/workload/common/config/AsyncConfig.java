@@ -2,7 +2,10 @@ package io.cockroachdb.workload.common.config;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,9 +20,24 @@ import io.cockroachdb.workload.common.CallMetrics;
 @Configuration
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
     @Value("${cockroachdb.workload.core-pool-size}")
     private int corePoolSize;
 
+    @Value("${cockroachdb.workload.max-pool-size}")
+    private int maxPoolSize;
+
+    @Value("${cockroachdb.workload.virtual-threads}")
+    private boolean virtualThreads;
+
+    @Value("${cockroachdb.workload.virtual-pool-size}")
+    private int virtualPoolSize;
+
+    private ThreadFactory virtualThreadFactory;
+
+    private boolean virtualThreadsResolved;
+
     private int corePoolSize() {
         return corePoolSize > 0 ? corePoolSize : Runtime.getRuntime().availableProcessors() * 4;
     }
@@ -28,13 +46,63 @@ public class AsyncConfig implements AsyncConfigurer {
     @Bean(name = "jobExecutor")
     public ThreadPoolTaskExecutor getAsyncExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(corePoolSize());
-        executor.setMaxPoolSize(300);
         executor.setWaitForTasksToCompleteOnShutdown(true);
         executor.setThreadNamePrefix("worker");
+
+        ThreadFactory virtualThreadFactory = resolveVirtualThreadFactory();
+        if (virtualThreadFactory != null) {
+            // Virtual threads are cheap so let every worker have one, and let idle ones die off
+            executor.setThreadFactory(virtualThreadFactory);
+            executor.setCorePoolSize(virtualPoolSize);
+            executor.setMaxPoolSize(virtualPoolSize);
+            executor.setAllowCoreThreadTimeOut(true);
+            logger.info("Using virtual threads for workers (max {})", virtualPoolSize);
+        } else {
+            executor.setCorePoolSize(corePoolSize());
+            executor.setMaxPoolSize(Math.max(maxPoolSize, corePoolSize()));
+        }
         return executor;
     }
 
+    /**
+     * @return true if workers actually run on virtual threads, which is only the case when
+     * enabled and supported by the runtime
+     */
+    public boolean isVirtualThreadsActive() {
+        return resolveVirtualThreadFactory() != null;
+    }
+
+    private synchronized ThreadFactory resolveVirtualThreadFactory() {
+        if (!virtualThreadsResolved) {
+            virtualThreadFactory = virtualThreads ? virtualThreadFactory("vworker-") : null;
+            virtualThreadsResolved = true;
+        }
+        return virtualThreadFactory;
+    }
+
+    /**
+     * Resolves a virtual thread factory reflectively since the build targets Java 17.
+     *
+     * @param prefix thread name prefix
+     * @return the thread factory or null if virtual threads are not supported by the runtime
+     */
+    private ThreadFactory virtualThreadFactory(String prefix) {
+        if (Runtime.version().feature() < 21) {
+            logger.warn("Virtual threads require Java 21+ (running {}) - using platform threads",
+                    Runtime.version());
+            return null;
+        }
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Unable to create virtual thread factory - using platform threads", e);
+            return null;
+        }
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -47,6 +115,9 @@ public class AsyncConfig implements AsyncConfigurer {
 
     @Bean
     public CallMetrics callMetrics() {
-        return new CallMetrics();
+        // Per-thread recorders would pin a histogram pair per virtual worker and context
+        return isVirtualThreadsActive()
+                ? new CallMetrics(Runtime.getRuntime().availableProcessors() * 2)
+                : new CallMetrics();
     }
 }
@@ -25,6 +25,15 @@ public class DataSourceConfig {
     @Value("${spring.application.name}")
     private String appName;
 
+    @Value("${cockroachdb.workload.jdbc.prepare-threshold}")
+    private int prepareThreshold;
+
+    @Value("${cockroachdb.workload.jdbc.statement-cache-queries}")
+    private int statementCacheQueries;
+
+    @Value("${cockroachdb.workload.jdbc.statement-cache-size-mib}")
+    private int statementCacheSizeMiB;
+
     @Bean
     @Primary
     @ConfigurationProperties("spring.datasource")
@@ -51,6 +60,9 @@ public class DataSourceConfig {
                 .build();
         ds.addDataSourceProperty(PGProperty.REWRITE_BATCHED_INSERTS.getName(), true);
         ds.addDataSourceProperty(PGProperty.APPLICATION_NAME.getName(), appName);
+        ds.addDataSourceProperty(PGProperty.PREPARE_THRESHOLD.getName(), prepareThreshold);
+        ds.addDataSourceProperty(PGProperty.PREPARED_STATEMENT_CACHE_QUERIES.getName(), statementCacheQueries);
+        ds.addDataSourceProperty(PGProperty.PREPARED_STATEMENT_CACHE_SIZE_MIB.getName(), statementCacheSizeMiB);
         return ds;
     }
 
@@ -0,0 +1,87 @@
+package io.cockroachdb.workload.common.retry;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.sql.SQLException;
+
+import org.springframework.core.NestedExceptionUtils;
+
+/**
+ * Taxonomy of SQL errors relevant for retry decisions.
+ */
+public enum ErrorCategory {
+    /**
+     * 40001 - serialization conflict, safe to retry the transaction.
+     */
+    SERIALIZATION_FAILURE(true, true),
+    /**
+     * 40003 - ambiguous result (statement completion unknown). Transient but not retried
+     * since the transaction may have committed, and replaying it is not safe for workloads
+     * that insert client-generated keys, such as the ledger.
+     */
+    AMBIGUOUS_RESULT(true, false),
+    /**
+     * 08xxx - connection failure, for example a node restart.
+     */
+    CONNECTION_FAILURE(true, true),
+    /**
+     * 57014 - query canceled, typically by a statement timeout. Transient but not retried
+     * since the same statement is likely to time out again.
+     */
+    QUERY_CANCELED(true, false),
+    /**
+     * Transient errors that persisted through all retry attempts.
+     */
+    RETRIES_EXHAUSTED(true, false),
+    /**
+     * Anything else.
+     */
+    NON_TRANSIENT(false, false);
+
+    public static ErrorCategory classify(Throwable t) {
+        while (t instanceof UndeclaredThrowableException) {
+            t = ((UndeclaredThrowableException) t).getUndeclaredThrowable();
+        }
+        if (t instanceof RetriesExhaustedException) {
+            return RETRIES_EXHAUSTED;
+        }
+        if (t == null) {
+            return NON_TRANSIENT;
+        }
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(t);
+        if (cause instanceof SQLException) {
+            SQLException ex = (SQLException) cause;
+            String sqlState = ex.getSQLState();
+            if ("40001".equals(sqlState)) {
+                return SERIALIZATION_FAILURE;
+            }
+            if ("40003".equals(sqlState)
+                    || (ex.getMessage() != null && ex.getMessage().contains("result is ambiguous"))) {
+                return AMBIGUOUS_RESULT;
+            }
+            if (sqlState != null && sqlState.startsWith("08")) {
+                return CONNECTION_FAILURE;
+            }
+            if ("57014".equals(sqlState)) {
+                return QUERY_CANCELED;
+            }
+        }
+        return NON_TRANSIENT;
+    }
+
+    private final boolean transientError;
+
+    private final boolean retryable;
+
+    ErrorCategory(boolean transientError, boolean retryable) {
+        this.transientError = transientError;
+        this.retryable = retryable;
+    }
+
+    public boolean isTransient() {
+        return transientError;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
@@ -0,0 +1,19 @@
+package io.cockroachdb.workload.common.retry;
+
+import org.springframework.dao.ConcurrencyFailureException;
+
+/**
+ * Thrown when a call keeps failing with retryable errors past the max number of attempts.
+ */
+public class RetriesExhaustedException extends ConcurrencyFailureException {
+    private final int attempts;
+
+    public RetriesExhaustedException(String msg, int attempts, Throwable cause) {
+        super(msg, cause);
+        this.attempts = attempts;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,96 @@
+package io.cockroachdb.workload.common.retry;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.cockroachdb.workload.common.CallMetrics;
+
+/**
+ * Retry loop with exponential backoff shared by the executor template and the retryable
+ * aspect. Each retry is accounted for in the call metrics context bound to the current
+ * worker thread (if any), including the time spent on the failed attempt and backing off.
+ */
+public abstract class RetryEngine {
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T call() throws Throwable;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryEngine.class);
+
+    private RetryEngine() {
+    }
+
+    public static long backoffMillis(int attempt, long maxBackoffMillis) {
+        return Math.min((long) (Math.pow(2, attempt) + Math.random() * 1000), maxBackoffMillis);
+    }
+
+    public static <T> T execute(Attempt<T> attempt, String label, int maxAttempts, long maxBackoffMillis)
+            throws Throwable {
+        final CallMetrics.Context context = CallMetrics.currentContext();
+
+        int numCalls = 0;
+        while (true) {
+            final long attemptTime = System.nanoTime();
+            Throwable t;
+            try {
+                numCalls++;
+                T rv = attempt.call();
+                if (numCalls > 1) {
+                    logger.debug("Transient error recovered after {} of {} attempts in '{}'",
+                            numCalls, maxAttempts, label);
+                }
+                return rv;
+            } catch (UndeclaredThrowableException ex) {
+                Throwable ut = ex.getUndeclaredThrowable();
+                while (ut instanceof UndeclaredThrowableException) {
+                    ut = ((UndeclaredThrowableException) ut).getUndeclaredThrowable();
+                }
+                t = ut;
+            } catch (Throwable ex) {
+                t = ex;
+            }
+
+            ErrorCategory category = ErrorCategory.classify(t);
+            if (!category.isRetryable()) {
+                throw t;
+            }
+            if (numCalls >= maxAttempts) {
+                throw new RetriesExhaustedException("Too many transient errors (" + numCalls + ") in '"
+                        + label + "'. Giving up!", numCalls, t);
+            }
+
+            long backoffMillis = backoffMillis(numCalls, maxBackoffMillis);
+            if (numCalls <= 1 && logger.isWarnEnabled()) {
+                logger.warn("Transient error {} (backoff {}ms) in call {} to '{}': {}",
+                        category, backoffMillis, numCalls, label, t.getMessage());
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw t;
+            }
+
+            if (context != null) {
+                context.retry(System.nanoTime() - attemptTime, TimeUnit.MILLISECONDS.toNanos(backoffMillis));
+            }
+        }
+    }
+
+    public static void run(Runnable runnable, String label, int maxAttempts, long maxBackoffMillis) {
+        try {
+            execute(() -> {
+                runnable.run();
+                return null;
+            }, label, maxAttempts, maxBackoffMillis);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+}
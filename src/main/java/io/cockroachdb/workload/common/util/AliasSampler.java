@@ -0,0 +1,125 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+
+/**
+ * Weighted random sampler using Walker's alias method (Vose's variant). The alias
+ * table is built once in O(n) and each draw is O(1), as opposed to summing and
+ * scanning all weights on every call. Draws yield item indexes so the items can be
+ * kept in any compact form. Instances are immutable and safe to share across
+ * worker threads.
+ */
+public class AliasSampler {
+    public static AliasSampler of(List<? extends WeightedItem> items) {
+        double[] weights = new double[items.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = items.get(i).getWeight();
+        }
+        return new AliasSampler(weights);
+    }
+
+    private final double[] probability;
+
+    private final int[] alias;
+
+    private final boolean uniform;
+
+    public AliasSampler(double[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("Empty collection");
+        }
+
+        final int n = weights.length;
+
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        double totalWeight = 0;
+        for (double w : weights) {
+            if (w < 0 || Double.isNaN(w)) {
+                throw new IllegalArgumentException("Negative or NaN weight: " + w);
+            }
+            totalWeight += w;
+        }
+
+        this.uniform = totalWeight == 0;
+        if (uniform) {
+            return;
+        }
+
+        // Scaled probabilities partitioned into work lists below and above the mean
+        final double[] scaled = new double[n];
+        final int[] small = new int[n];
+        final int[] large = new int[n];
+        int smallSize = 0;
+        int largeSize = 0;
+
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / totalWeight;
+            if (scaled[i] < 1.0) {
+                small[smallSize++] = i;
+            } else {
+                large[largeSize++] = i;
+            }
+        }
+
+        while (smallSize > 0 && largeSize > 0) {
+            int less = small[--smallSize];
+            int more = large[--largeSize];
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallSize++] = more;
+            } else {
+                large[largeSize++] = more;
+            }
+        }
+
+        // Leftovers are only off from 1.0 due to rounding
+        while (largeSize > 0) {
+            probability[large[--largeSize]] = 1.0;
+        }
+        while (smallSize > 0) {
+            probability[small[--smallSize]] = 1.0;
+        }
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * @return index of a weighted random item
+     */
+    public int nextIndex() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(probability.length);
+        if (uniform) {
+            return column;
+        }
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * @return index of a uniformly random item, ignoring weights
+     */
+    public int nextUniformIndex() {
+        return ThreadLocalRandom.current().nextInt(probability.length);
+    }
+
+    /**
+     * Draws distinct indexes without replacement, see {@link DistinctDraws}.
+     *
+     * @param count number of distinct indexes to draw
+     * @param weighted predicate for whether the nth draw is weighted or uniform
+     * @return the drawn indexes in draw order
+     */
+    public int[] nextDistinct(int count, IntPredicate weighted) {
+        return DistinctDraws.draw(count, probability.length, weighted, this::nextIndex);
+    }
+}
@@ -0,0 +1,203 @@
+package io.cockroachdb.workload.common.util;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes rows in the CSV format expected by {@code COPY .. FROM STDIN WITH CSV},
+ * writing UTF-8 bytes straight into a reusable, growable buffer. NULLs are written as
+ * empty unquoted fields and empty strings as {@code ""}.
+ * <p>
+ * Not thread safe, intended to be reused per worker thread.
+ */
+public class CsvEncoder {
+    private byte[] buffer;
+
+    private int size;
+
+    private boolean firstField = true;
+
+    public CsvEncoder(int initialCapacity) {
+        this.buffer = new byte[Math.max(64, initialCapacity)];
+    }
+
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void reset() {
+        size = 0;
+        firstField = true;
+    }
+
+    public CsvEncoder writeNull() {
+        separator();
+        return this;
+    }
+
+    public CsvEncoder write(String value) {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        if (needsQuoting(value)) {
+            writeByte('"');
+            writeUtf8(value, true);
+            writeByte('"');
+        } else {
+            writeUtf8(value, false);
+        }
+        return this;
+    }
+
+    public CsvEncoder write(long value) {
+        separator();
+        writeAscii(Long.toString(value));
+        return this;
+    }
+
+    public CsvEncoder write(boolean value) {
+        separator();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+
+    public CsvEncoder write(BigDecimal value) {
+        separator();
+        if (value != null) {
+            writeAscii(value.toPlainString());
+        }
+        return this;
+    }
+
+    /**
+     * Write a field that is already CSV encoded (quoted and escaped) as UTF-8 bytes with
+     * a single bulk copy, reading the source buffer with an absolute get so it can be
+     * shared across threads.
+     */
+    public CsvEncoder writeEncoded(ByteBuffer csv, int offset, int length) {
+        separator();
+        ensureCapacity(length);
+        csv.get(offset, buffer, size, length);
+        size += length;
+        return this;
+    }
+
+    /**
+     * Write a quoted field from UTF-8 encoded bytes without decoding.
+     */
+    public CsvEncoder writeQuoted(byte[] utf8, int offset, int length) {
+        separator();
+        ensureCapacity(length * 2 + 2);
+        buffer[size++] = '"';
+        for (int i = offset; i < offset + length; i++) {
+            byte b = utf8[i];
+            if (b == '"') {
+                buffer[size++] = '"';
+            }
+            buffer[size++] = b;
+        }
+        buffer[size++] = '"';
+        return this;
+    }
+
+    /**
+     * Write any other value (UUID, date etc) by its string form, unquoted unless required.
+     */
+    public CsvEncoder write(Object value) {
+        if (value == null) {
+            return writeNull();
+        }
+        return write(value.toString());
+    }
+
+    public void endRow() {
+        writeByte('\n');
+        firstField = true;
+    }
+
+    private void separator() {
+        if (!firstField) {
+            writeByte(',');
+        }
+        firstField = false;
+    }
+
+    private static boolean needsQuoting(String value) {
+        if (value.isEmpty() || value.charAt(0) == '\\') {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeAscii(String value) {
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeUtf8(String value, boolean escapeQuotes) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' && escapeQuotes) {
+                writeByte('"');
+            }
+            if (writeChar(value, i, c)) {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * @return true if a surrogate pair was consumed
+     */
+    private boolean writeChar(String value, int index, char c) {
+        if (c < 0x80) {
+            writeByte(c);
+        } else if (c < 0x800) {
+            ensureCapacity(2);
+            buffer[size++] = (byte) (0xc0 | (c >> 6));
+            buffer[size++] = (byte) (0x80 | (c & 0x3f));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int cp = Character.toCodePoint(c, value.charAt(index + 1));
+            ensureCapacity(4);
+            buffer[size++] = (byte) (0xf0 | (cp >> 18));
+            buffer[size++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+            buffer[size++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+            buffer[size++] = (byte) (0x80 | (cp & 0x3f));
+            return true;
+        } else if (Character.isSurrogate(c)) {
+            writeByte('?');
+        } else {
+            ensureCapacity(3);
+            buffer[size++] = (byte) (0xe0 | (c >> 12));
+            buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buffer[size++] = (byte) (0x80 | (c & 0x3f));
+        }
+        return false;
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
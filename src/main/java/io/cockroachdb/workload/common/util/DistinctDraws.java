@@ -0,0 +1,59 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+/**
+ * Draws distinct indexes without replacement from a skewed source by rejecting indexes
+ * already drawn, which is cheap as long as the count is small relative to the number
+ * of indexes.
+ */
+public abstract class DistinctDraws {
+    /**
+     * Max number of skewed draws per index before falling back to uniform draws,
+     * for when a few indexes carry nearly all the weight.
+     */
+    public static final int MAX_SKEWED_ATTEMPTS = 32;
+
+    private DistinctDraws() {
+    }
+
+    /**
+     * @param count number of distinct indexes to draw, at most size
+     * @param size number of indexes in the range [0, size)
+     * @param skewed predicate for whether the nth draw is skewed or uniform
+     * @param skewedDraw source of skewed indexes in the range [0, size)
+     * @return the drawn indexes in draw order
+     */
+    public static int[] draw(int count, int size, IntPredicate skewed, IntSupplier skewedDraw) {
+        if (count > size) {
+            throw new IllegalArgumentException("Not enough elements: " + count + " > " + size);
+        }
+
+        final int[] drawn = new int[count];
+
+        for (int i = 0; i < count; i++) {
+            int attempts = 0;
+            int index;
+            do {
+                index = skewed.test(i) && attempts++ < MAX_SKEWED_ATTEMPTS
+                        ? skewedDraw.getAsInt()
+                        : ThreadLocalRandom.current().nextInt(size);
+            } while (contains(drawn, i, index));
+
+            drawn[i] = index;
+        }
+
+        return drawn;
+    }
+
+    private static boolean contains(int[] array, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (array[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Non-cryptographic version 4 UUIDs from the per-thread PRNG, avoiding the contended
+ * SecureRandom behind {@link UUID#randomUUID()}. Only suitable for keys and test data.
+ */
+public abstract class FastUuid {
+    private FastUuid() {
+    }
+
+    public static UUID random() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & 0xffff_ffff_ffff_0fffL) | 0x4000L;
+        long lsb = (random.nextLong() & 0x3fff_ffff_ffff_ffffL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+}
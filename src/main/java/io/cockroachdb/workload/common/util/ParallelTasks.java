@@ -0,0 +1,64 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a bounded set of short-lived tasks, such as key range scans, on a dedicated
+ * thread pool. Using the shared worker pool instead could starve the tasks behind
+ * long-running workload workers.
+ */
+public abstract class ParallelTasks {
+    private ParallelTasks() {
+    }
+
+    /**
+     * Run tasks concurrently and wait for all results.
+     *
+     * @param name thread name prefix
+     * @param tasks the tasks to run
+     * @param parallelism max number of concurrent tasks
+     * @param <T> the result type
+     * @return the results in task order
+     */
+    public static <T> List<T> invokeAll(String name, List<Callable<T>> tasks, int parallelism) {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ExecutorService executorService = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(parallelism, tasks.size())), r -> {
+                    Thread t = new Thread(r, name + "-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        try {
+            final List<Future<T>> futures = new ArrayList<>(tasks.size());
+            tasks.forEach(task -> futures.add(executorService.submit(task)));
+
+            final List<T> results = new ArrayList<>(tasks.size());
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + name, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(name + " failed", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public abstract class RateFormat {
+    private static final Pattern RATE_PATTERN = Pattern.compile("^(.+?)\\s*/\\s*([smhSMH])$");
+
+    private RateFormat() {
+    }
+
+    /**
+     * Parse a rate expression like '5K/s', '300/m', '1.5K/h' or '500' (per second)
+     * into operations per second. Empty or non-positive rates yield zero. The number
+     * part uses {@link Multiplier} notation, which is case-sensitive ('M' is mega),
+     * while the time unit suffix is case-insensitive.
+     *
+     * @param rate the rate expression
+     * @return operations per second
+     */
+    public static double parseRate(String rate) {
+        if (rate == null || rate.isBlank()) {
+            return 0;
+        }
+        Matcher matcher = RATE_PATTERN.matcher(rate.trim());
+        double value;
+        if (matcher.matches()) {
+            value = Multiplier.parseDouble(matcher.group(1));
+            String token = matcher.group(2).toLowerCase(Locale.ROOT);
+            switch (token) {
+                case "s":
+                    break;
+                case "m":
+                    value = value / 60;
+                    break;
+                case "h":
+                    value = value / 3600;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Invalid token " + token);
+            }
+        } else {
+            value = Multiplier.parseDouble(rate.trim());
+        }
+        return Math.max(0, value);
+    }
+}
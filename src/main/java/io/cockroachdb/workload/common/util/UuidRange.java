@@ -0,0 +1,67 @@
+package io.cockroachdb.workload.common.util;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contiguous range of the UUID key space with an inclusive lower bound and an
+ * exclusive upper bound, where a null upper bound means unbounded. Ranges follow
+ * the byte order used by the database, which is unsigned order of the most and
+ * then least significant bits.
+ */
+public class UuidRange {
+    private static final BigInteger KEY_SPACE = BigInteger.ONE.shiftLeft(64);
+
+    /**
+     * Split the whole UUID key space into evenly sized ranges on the most significant
+     * bits, which gives evenly sized ranges for random UUIDs.
+     *
+     * @param count number of ranges
+     * @return the ranges in key order
+     */
+    public static List<UuidRange> split(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Range count must be > 0");
+        }
+
+        List<UuidRange> ranges = new ArrayList<>(count);
+        UUID lower = new UUID(0, 0);
+        for (int i = 1; i <= count; i++) {
+            UUID upper = i < count
+                    ? new UUID(KEY_SPACE.multiply(BigInteger.valueOf(i))
+                    .divide(BigInteger.valueOf(count)).longValue(), 0)
+                    : null;
+            ranges.add(new UuidRange(lower, upper));
+            lower = upper;
+        }
+        return ranges;
+    }
+
+    private final UUID lower;
+
+    private final UUID upper;
+
+    public UuidRange(UUID lower, UUID upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    public UUID getLower() {
+        return lower;
+    }
+
+    public UUID getUpper() {
+        return upper;
+    }
+
+    public boolean isUnbounded() {
+        return upper == null;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + lower + ", " + (upper != null ? upper : "max") + ")";
+    }
+}
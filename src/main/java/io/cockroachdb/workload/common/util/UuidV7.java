@@ -0,0 +1,31 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generator for time-ordered version 7 UUIDs (RFC 9562), with a 48-bit unix epoch
+ * millis prefix followed by random bits. Keys generated close in time sort close
+ * together, which trades insert hotspotting for locality.
+ */
+public abstract class UuidV7 {
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        return of(System.currentTimeMillis());
+    }
+
+    public static UUID of(long epochMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (epochMillis & 0xffff_ffff_ffffL) << 16
+                | 0x7000L
+                | (random.nextLong() & 0x0fffL);
+        long lsb = (random.nextLong() & 0x3fff_ffff_ffff_ffffL) | 0x8000_0000_0000_0000L;
+        return new UUID(msb, lsb);
+    }
+
+    public static long epochMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -8,8 +8,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 
 import io.cockroachdb.workload.common.command.AbstractCommand;
+import io.cockroachdb.workload.ledger.model.AccountKeyCache;
 import io.cockroachdb.workload.ledger.repository.JdbcMetadataRepository;
 import io.cockroachdb.workload.ledger.service.AccountService;
+import io.cockroachdb.workload.ledger.service.JdbcAccountService;
 import io.cockroachdb.workload.ledger.service.TransferService;
 
 public abstract class AbstractLedgerWorkload extends AbstractCommand {
@@ -18,8 +20,7 @@ public abstract class AbstractLedgerWorkload extends AbstractCommand {
     private AccountService jpaAccountService;
 
     @Autowired
-    @Qualifier("jdbcAccountService")
-    private AccountService jdbcAccountService;
+    private JdbcAccountService jdbcAccountService;
 
     @Autowired
     @Qualifier("jpaTransferService")
@@ -29,15 +30,46 @@ public abstract class AbstractLedgerWorkload extends AbstractCommand {
     @Qualifier("jdbcTransferService")
     private TransferService jdbcTransactionService;
 
+    @Autowired
+    @Qualifier("cteTransferService")
+    private TransferService cteTransactionService;
+
     @Autowired
     private JdbcMetadataRepository jdbcMetadataRepositoryImpl;
 
     protected AccountService getAccountService(String api) {
-        return "jdbc".equals(api) ? this.jdbcAccountService : this.jpaAccountService;
+        return "jpa".equals(api) ? this.jpaAccountService : this.jdbcAccountService;
+    }
+
+    protected JdbcAccountService getJdbcAccountService() {
+        return jdbcAccountService;
+    }
+
+    /**
+     * Load the account keys of a region with parallel keyset scans, always over JDBC.
+     *
+     * @param region the account region
+     * @param limit max number of accounts or -1 for all
+     * @return the account key cache
+     */
+    protected AccountKeyCache loadAccountKeys(String region, int limit) {
+        final long startTime = System.nanoTime();
+        final AccountKeyCache accountKeys = jdbcAccountService.loadAccountKeys(region, limit,
+                Runtime.getRuntime().availableProcessors());
+        getConsole().infof("Loaded %,d account keys for region %s in %.1f sec",
+                accountKeys.size(), region, (System.nanoTime() - startTime) / 1e9);
+        return accountKeys;
     }
 
     protected TransferService getTransactionService(String api) {
-        return "jdbc".equals(api) ? this.jdbcTransactionService : this.jpaTransactionService;
+        if ("jdbc".equals(api)) {
+            return this.jdbcTransactionService;
+        } else if ("jpa".equals(api)) {
+            return this.jpaTransactionService;
+        } else if ("cte".equals(api)) {
+            return this.cteTransactionService;
+        }
+        throw new IllegalArgumentException("Unknown transfer mode (jdbc|jpa|cte): " + api);
     }
 
     protected List<String> resolveRegions(String regions) {
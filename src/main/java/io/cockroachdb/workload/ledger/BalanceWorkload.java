@@ -1,11 +1,11 @@
 package io.cockroachdb.workload.ledger;
 
 import java.time.Duration;
-import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.IntStream;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.util.Pair;
 import org.springframework.shell.standard.ShellCommandGroup;
 import org.springframework.shell.standard.ShellComponent;
@@ -13,52 +13,75 @@ import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
 import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.CallMetrics;
+import io.cockroachdb.workload.common.KeyDistribution;
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.common.util.DurationFormat;
 import io.cockroachdb.workload.common.util.Money;
-import io.cockroachdb.workload.common.util.RandomData;
-import io.cockroachdb.workload.ledger.model.Account;
+import io.cockroachdb.workload.common.util.Multiplier;
+import io.cockroachdb.workload.common.util.RateFormat;
+import io.cockroachdb.workload.ledger.model.AccountKeyCache;
 import io.cockroachdb.workload.ledger.service.AccountService;
+import io.cockroachdb.workload.ledger.service.BalanceCache;
 
 @ShellComponent
 @ShellCommandGroup("Workload")
 @Profiles.Ledger
 public class BalanceWorkload extends AbstractLedgerWorkload {
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private CallMetrics callMetrics;
+
     @ShellMethod(value = "Run balance query workload (read-only)")
     public void balance(
             @ShellOption(help = "number of threads per region", defaultValue = "1") int threads,
             @ShellOption(help = "use JPA over JDBC (default)", defaultValue = "false") boolean jpa,
             @ShellOption(help = "account regions to use (all|gateway|<any>)", defaultValue = "all") String regions,
-            @ShellOption(help = "max number of accounts per region", defaultValue = "5000") int limit,
+            @ShellOption(help = "max number of accounts per region (-1 for all)", defaultValue = "-1") String limit,
             @ShellOption(help = "execution duration", defaultValue = "45m") String duration,
-            @ShellOption(help = "use follower reads", defaultValue = "false") boolean followerReads
+            @ShellOption(help = "use follower reads (same as --consistency follower)", defaultValue = "false") boolean followerReads,
+            @ShellOption(help = ReadConsistency.HELP, defaultValue = "strong") String consistency,
+            @ShellOption(help = "target rate across all threads, e.g. 5K/s (default unbounded closed loop)", defaultValue = "0") String rate,
+            @ShellOption(help = KeyDistribution.HELP, defaultValue = "uniform") String distribution,
+            @ShellOption(help = "client-side balance cache size in entries (e.g. 100k) or MB (e.g. 64mb), 0 to disable", defaultValue = "0") String cacheSize,
+            @ShellOption(help = "client-side balance cache time-to-live", defaultValue = "30s") String cacheTtl
     ) {
         final Duration runtimeDuration = DurationFormat.parseDuration(duration);
         final AccountService accountService = getAccountService(jpa ? "jpa" : "jdbc");
         final List<String> resolvedRegions = resolveRegions(regions);
+        final int accountLimit = Multiplier.parseInt(limit);
+        final ReadConsistency readConsistency = followerReads
+                ? ReadConsistency.FOLLOWER : ReadConsistency.of(consistency);
+        final double workerRate = RateFormat.parseRate(rate) / (threads * resolvedRegions.size());
+
+        balanceCache.configure(cacheSize, DurationFormat.parseDuration(cacheTtl), callMetrics);
+        if (balanceCache.isEnabled()) {
+            getConsole().infof("Using client-side balance cache (size %s, ttl %s)", cacheSize, cacheTtl);
+        }
 
+        getConsole().infof("Read consistency: %s", readConsistency);
         getConsole().infof("Resolved %d regions [%s]", resolvedRegions.size(), resolvedRegions);
 
         resolvedRegions
                 .forEach(region -> {
-                    final List<Account> regionAccounts = Collections
-                            .unmodifiableList(accountService.findAccountsByRegion(region, 0, limit));
-                    if (regionAccounts.isEmpty()) {
+                    final AccountKeyCache accountKeys = loadAccountKeys(region, accountLimit);
+                    if (accountKeys.isEmpty()) {
                         getConsole().infof("No accounts found for region %s!", region);
                         return;
                     }
 
-                    getConsole().infof("Region %s with %d accounts", region, regionAccounts.size());
+                    final KeyDistribution keyDistribution = KeyDistribution.of(distribution, accountKeys.size());
+
+                    getConsole().infof("Region %s with %,d accounts (%s distribution)",
+                            region, accountKeys.size(), keyDistribution);
 
                     final Runnable unitOfWork = () -> {
-                        Account account = RandomData.selectRandom(regionAccounts);
-                        Money balance;
-                        if (followerReads) {
-                            balance = accountService.getBalanceSnapshot(account.getId());
-                        } else {
-                            balance = accountService.getBalance(account.getId());
-                        }
+                        UUID id = accountKeys.getId(keyDistribution.next());
+                        Money balance = accountService.getBalance(id, readConsistency);
 
-                        Pair<UUID, Money> pair = Pair.of(account.getId(), balance);
+                        Pair<UUID, Money> pair = Pair.of(id, balance);
                         if (pair.getSecond().isNegative()) {
                             getConsole().warnf("OMG!! negative balance (%s) detected for account id %s",
                                     pair.getSecond(), pair.getFirst());
@@ -68,9 +91,26 @@ public class BalanceWorkload extends AbstractLedgerWorkload {
                     IntStream.rangeClosed(1, threads).forEach(value -> {
                         getConsole().infof("Starting thread %d for region %s", value, region);
                         getExecutorTemplate().submit(
-                                "balance reader #" + value + " (" + region + ")",
-                                unitOfWork, runtimeDuration);
+                                "balance reader #" + value + " (" + region + ") [" + readConsistency + "]",
+                                unitOfWork, runtimeDuration, workerRate);
                     });
                 });
     }
+
+    @ShellMethod(value = "Print client-side balance cache statistics", key = {"balance-cache-stats", "bcs"})
+    public void balanceCacheStats() {
+        if (!balanceCache.isEnabled()) {
+            getConsole().infof("Balance cache is disabled");
+            return;
+        }
+
+        final long hits = balanceCache.getHits();
+        final long reads = hits + balanceCache.getMisses();
+
+        getConsole().infof("Entries: %,d", balanceCache.getEstimatedSize());
+        getConsole().infof("Reads: %,d (%,d served by database)", reads, balanceCache.getMisses());
+        getConsole().infof("Hit ratio (database offload): %.1f%%", reads > 0 ? hits * 100.0 / reads : 0);
+        getConsole().infof("Invalidations: %,d", balanceCache.getInvalidations());
+        getConsole().infof("Evictions: %,d", balanceCache.getEvictions());
+    }
 }
@@ -1,8 +1,16 @@
 package io.cockroachdb.workload.ledger;
 
+import java.util.ArrayList;
 import java.util.Currency;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.shell.standard.ShellCommandGroup;
@@ -39,9 +47,22 @@ public class LedgerWorkload extends AbstractLedgerWorkload implements Workload {
             @ShellOption(help = "batch size", defaultValue = "128") int batchSize,
             @ShellOption(help = "regions to use (all|gateway|<any>)", defaultValue = "all") String regions,
             @ShellOption(help = "use JPA over JDBC (default)", defaultValue = "false") boolean jpa,
+            @ShellOption(help = "number of loader threads per region (-1 for host vCPUs)", defaultValue = "-1")
+            int parallelism,
+            @ShellOption(help = "use COPY rather than batch inserts (JDBC only)", defaultValue = "false")
+            boolean copy,
+            @ShellOption(help = "top up regions to the number of accounts instead of adding all",
+                    defaultValue = "false") boolean resume,
             @ShellOption(help = "drop schema", defaultValue = "false") boolean drop,
             @ShellOption(help = "skip create schema", defaultValue = "false") boolean skip
     ) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be > 0");
+        }
+        if (copy && jpa) {
+            throw new IllegalArgumentException("COPY is only supported with JDBC");
+        }
+
         if (drop) {
             getConsole().info("Dropping tables..");
             DatabasePopulator.executeScripts(getDataSource(), "db/ledger/drop-ledger.sql");
@@ -55,49 +76,133 @@ public class LedgerWorkload extends AbstractLedgerWorkload implements Workload {
         final AccountService accountService = getAccountService(jpa ? "jpa" : "jdbc");
         final int accountsPerRegion = Multiplier.parseInt(accounts);
         final List<String> resolvedRegions = resolveRegions(regions);
+        final int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        final Money balance = Money.of(initialBalance, Currency.getInstance(currency));
 
         getConsole().successf("Creating %,d accounts in %d regions %s",
                 accountsPerRegion,
                 resolvedRegions.size(),
                 resolvedRegions);
 
-        AtomicInteger total = new AtomicInteger();
-
-        resolvedRegions.forEach(region -> {
-            Money balance = Money.of(initialBalance, Currency.getInstance(currency));
-
-            getConsole().successf("Creating %,d accounts in region %s with balance %s..", accountsPerRegion, region,
-                    balance);
-
-            int num = accountService.createAccounts(region,
-                    balance,
-                    accountsPerRegion,
-                    batchSize);
+        final AtomicLong created = new AtomicLong();
+        final List<Future<Void>> futures = new ArrayList<>();
+
+        int total = 0;
+
+        for (String region : resolvedRegions) {
+            int existing = resume ? accountService.countAccountsByRegion(region) : 0;
+            int missing = Math.max(0, accountsPerRegion - existing);
+            if (missing == 0) {
+                getConsole().infof("Region %s already has %,d accounts - skipping", region, existing);
+                continue;
+            }
+
+            int batches = (missing + batchSize - 1) / batchSize;
+            int workers = Math.min(threads, batches);
+
+            getConsole().successf("Creating %,d accounts in region %s with balance %s using %d threads..",
+                    missing, region, balance, workers);
+
+            // Workers claim batches from a shared budget so the last batch can be partial
+            final AtomicInteger remaining = new AtomicInteger(missing);
+            final AtomicInteger nameSequence = new AtomicInteger(existing);
+
+            final Runnable unitOfWork = () -> {
+                int claimed = remaining.getAndUpdate(r -> Math.max(0, r - batchSize));
+                int size = Math.min(claimed, batchSize);
+                if (size > 0) {
+                    try {
+                        if (copy) {
+                            getJdbcAccountService().copyAccountBatch(region, balance, size, nameSequence);
+                        } else {
+                            accountService.createAccountBatch(region, balance, size, nameSequence);
+                        }
+                        created.addAndGet(size);
+                    } catch (RuntimeException e) {
+                        // Give the batch back so a retry claims it again
+                        remaining.addAndGet(size);
+                        throw e;
+                    }
+                }
+            };
+
+            for (int w = 0; w < workers; w++) {
+                int iterations = batches / workers + (w < batches % workers ? 1 : 0);
+                futures.add(getExecutorTemplate().submit(
+                        "account loader #" + (w + 1) + " (" + region + ")", unitOfWork, iterations));
+            }
+
+            total += missing;
+        }
 
-            total.addAndGet(num);
-        });
+        awaitLoaders(futures, created, total);
 
-        getConsole().successf("Ready for business - %,d account(s) created in total", total.get());
+        getConsole().successf("Ready for business - %,d account(s) created in total", created.get());
         onPostInit();
     }
 
-    @ShellMethod(value = "Report ledger total balance sheet")
-    public void report(@ShellOption(help = "use JPA over JDBC (default)", defaultValue = "false") boolean jpa) {
-        AtomicInteger totalAccounts = new AtomicInteger();
+    private void awaitLoaders(List<Future<Void>> futures, AtomicLong created, int total) {
+        final long startTime = System.nanoTime();
+
+        for (Future<Void> future : futures) {
+            while (true) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    double elapsedSec = (System.nanoTime() - startTime) / 1e9;
+                    long count = created.get();
+                    getConsole().infof("Created %,d/%,d accounts (%.1f%%) at %,.0f rows/s",
+                            count, total, total > 0 ? count * 100.0 / total : 100.0, count / elapsedSec);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    getConsole().warn("Interrupted - re-run init with --resume --skip to complete");
+                    return;
+                } catch (ExecutionException e) {
+                    getConsole().warnf("Loader failed: %s", e.getCause());
+                    break;
+                } catch (CancellationException e) {
+                    break;
+                }
+            }
+        }
 
-        jdbcMetadataRepositoryImpl.getRegions().forEach(region -> {
-            AccountSummary accountSummary = getAccountService("jdbc").accountSummary(region);
+        double elapsedSec = (System.nanoTime() - startTime) / 1e9;
+        getConsole().infof("Created %,d/%,d accounts in %.1f sec (%,.0f rows/s)",
+                created.get(), total, elapsedSec, elapsedSec > 0 ? created.get() / elapsedSec : 0);
+        if (created.get() < total) {
+            getConsole().warn("Not all accounts were created - re-run init with --resume --skip to complete");
+        }
+    }
 
+    @ShellMethod(value = "Report ledger total balance sheet")
+    public void report(@ShellOption(help = "use JPA over JDBC (default) for currency totals, region summaries "
+            + "always use JDBC range scans", defaultValue = "false") boolean jpa,
+                       @ShellOption(help = "number of parallel key range scans per region (-1 for host vCPUs)",
+                               defaultValue = "-1") int parallelism) {
+        final AtomicInteger totalAccounts = new AtomicInteger();
+        final long startTime = System.nanoTime();
+
+        final Map<String, AccountSummary> summaries = getJdbcAccountService().accountSummaries(
+                jdbcMetadataRepositoryImpl.getRegions(),
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+
+        summaries.forEach((region, accountSummary) -> {
             getConsole().successf("Total balance for region %s", region);
             getConsole().infof("\tnumberOfAccounts: %s", accountSummary.getNumberOfAccounts());
-            getConsole().infof("\ttotalBalance: %,.2f", accountSummary.getTotalBalance().doubleValue());
-            getConsole().infof("\tminBalance: %,.2f", accountSummary.getMinBalance().doubleValue());
-            getConsole().infof("\tmaxBalance: %,.2f", accountSummary.getMaxBalance().doubleValue());
-            getConsole().infof("\tavgBalance: %,.2f", accountSummary.getAvgBalance().doubleValue());
+            if (accountSummary.getNumberOfAccounts() > 0) {
+                getConsole().infof("\ttotalBalance: %,.2f", accountSummary.getTotalBalance().doubleValue());
+                getConsole().infof("\tminBalance: %,.2f", accountSummary.getMinBalance().doubleValue());
+                getConsole().infof("\tmaxBalance: %,.2f", accountSummary.getMaxBalance().doubleValue());
+                getConsole().infof("\tavgBalance: %,.2f", accountSummary.getAvgBalance().doubleValue());
+            }
 
             totalAccounts.addAndGet(accountSummary.getNumberOfAccounts());
         });
 
+        getConsole().infof("Scanned %d regions in %.1f sec", summaries.size(),
+                (System.nanoTime() - startTime) / 1e9);
+
         AccountService accountService = getAccountService(jpa ? "jpa" : "jdbc");
 
         getConsole().successf("Total number of accounts: %,d", totalAccounts.get());
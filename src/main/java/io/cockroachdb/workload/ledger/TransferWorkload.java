@@ -2,12 +2,12 @@ package io.cockroachdb.workload.ledger;
 
 import java.time.Duration;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.springframework.shell.standard.ShellCommandGroup;
 import org.springframework.shell.standard.ShellComponent;
@@ -15,13 +15,16 @@ import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
 import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.KeyDistribution;
+import io.cockroachdb.workload.common.util.AliasSampler;
 import io.cockroachdb.workload.common.util.CockroachFacts;
 import io.cockroachdb.workload.common.util.DurationFormat;
 import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.common.util.Multiplier;
 import io.cockroachdb.workload.common.util.RandomData;
-import io.cockroachdb.workload.ledger.model.Account;
+import io.cockroachdb.workload.common.util.RateFormat;
+import io.cockroachdb.workload.ledger.model.AccountKeyCache;
 import io.cockroachdb.workload.ledger.model.TransferRequest;
-import io.cockroachdb.workload.ledger.service.AccountService;
 import io.cockroachdb.workload.ledger.service.BadRequestException;
 import io.cockroachdb.workload.ledger.service.TransferService;
 
@@ -32,11 +35,15 @@ public class TransferWorkload extends AbstractLedgerWorkload {
     @ShellMethod(value = "Run ledger transfer workload")
     public void transfer(
             @ShellOption(help = "number of threads per region", defaultValue = "1") int threads,
-            @ShellOption(help = "use JPA over JDBC (default)", defaultValue = "false") boolean jpa,
+            @ShellOption(help = "transfer mode (jdbc|jpa|cte)", defaultValue = "jdbc") String mode,
             @ShellOption(help = "account regions to use (all|gateway|<any>)", defaultValue = "all") String regions,
-            @ShellOption(help = "max number of accounts per region", defaultValue = "5000") int limit,
+            @ShellOption(help = "max number of accounts per region (-1 for all)", defaultValue = "-1") String limit,
             @ShellOption(help = "number of account legs per transaction (multiple of 2)", defaultValue = "2") int legs,
-            @ShellOption(help = "execution duration", defaultValue = "45m") String duration
+            @ShellOption(help = "number of transfer requests per transaction", defaultValue = "1") int batch,
+            @ShellOption(help = "execution duration", defaultValue = "45m") String duration,
+            @ShellOption(help = "target rate across all threads, e.g. 5K/s (default unbounded closed loop)", defaultValue = "0") String rate,
+            @ShellOption(help = "account access distribution (weighted|uniform|zipfian[:theta]|latest[:theta]|hotspot[:ops:keys]|sequential), "
+                    + "where weighted debits accounts by balance", defaultValue = "weighted") String distribution
     ) {
         if (legs < 2) {
             throw new BadRequestException("Must have at least two account legs");
@@ -44,27 +51,43 @@ public class TransferWorkload extends AbstractLedgerWorkload {
         if (legs % 2 != 0) {
             throw new BadRequestException("Accounts per region must be a multiple of 2: " + legs);
         }
+        if (batch < 1) {
+            throw new BadRequestException("Batch size must be at least 1");
+        }
 
-        final TransferService transactionService = getTransactionService(jpa ? "jpa" : "jdbc");
-        final AccountService accountService = getAccountService(jpa ? "jpa" : "jdbc");
+        final TransferService transactionService = getTransactionService(mode);
+        final int accountLimit = Multiplier.parseInt(limit);
         final Duration runtimeDuration = DurationFormat.parseDuration(duration);
         final List<String> resolvedRegions = resolveRegions(regions);
         final String firstRegion = resolvedRegions.iterator().next();
+        final double workerRate = RateFormat.parseRate(rate) / (threads * resolvedRegions.size());
+
+        final boolean weighted = "weighted".equalsIgnoreCase(distribution);
 
         getConsole().infof("Resolved %d regions [%s]", resolvedRegions.size(), resolvedRegions);
 
         resolvedRegions
                 .forEach(region -> {
-                    final List<Account> regionAccounts = Collections
-                            .unmodifiableList(accountService.findAccountsByRegion(region, 0, limit));
-                    if (regionAccounts.isEmpty()) {
+                    final AccountKeyCache accountKeys = loadAccountKeys(region, accountLimit);
+                    if (accountKeys.isEmpty()) {
                         getConsole().infof("No accounts found!\n");
                         return;
                     }
+                    if (accountKeys.size() < legs) {
+                        throw new BadRequestException("Not enough accounts in region " + region
+                                + " for " + legs + " legs: " + accountKeys.size());
+                    }
+
+                    // Alias table or key distribution built once and shared read-only by all workers in the region
+                    final AliasSampler accountSampler = weighted ? new AliasSampler(accountKeys.getWeights()) : null;
+                    final KeyDistribution keyDistribution = weighted
+                            ? null : KeyDistribution.of(distribution, accountKeys.size());
 
-                    getConsole().infof("Region %s with %d accounts", region, regionAccounts.size());
+                    getConsole().infof("Region %s with %,d accounts (%s distribution)", region, accountKeys.size(),
+                            weighted ? "weighted" : keyDistribution);
+                    final Currency currency = accountKeys.getCurrency();
 
-                    final Runnable unitOfWork = () -> {
+                    final Supplier<TransferRequest> requestSupplier = () -> {
                         TransferRequest.Builder requestBuilder = TransferRequest.builder()
                                 .withId(UUID.randomUUID())
                                 .withRegion(firstRegion)
@@ -72,37 +95,39 @@ public class TransferWorkload extends AbstractLedgerWorkload {
                                 .withBookingDate(LocalDate.now())
                                 .withTransferDate(LocalDate.now());
 
-                        final List<Account> temporalAccounts = new ArrayList<>(regionAccounts);
-                        final Currency currency = temporalAccounts.get(0).getBalance().getCurrency();
                         final Money transferAmount = RandomData.randomMoneyBetween("1.00", "10.00", currency);
 
+                        // Distinct accounts where weighted debits gravitate towards accounts with the highest balance
+                        final int[] accountIndexes = weighted
+                                ? accountSampler.nextDistinct(legs, leg -> leg % 2 == 0)
+                                : keyDistribution.nextDistinct(legs);
+
                         IntStream.range(0, legs).forEach(value -> {
                             final boolean debit = value % 2 == 0;
-
-                            // Debits gravitate towards accounts with the highest balance
-                            Account account = debit
-                                    ? RandomData.selectRandomWeighted(temporalAccounts)
-                                    : RandomData.selectRandom(temporalAccounts);
-                            temporalAccounts.remove(account);
-
                             final Money amount = debit ? transferAmount.negate() : transferAmount;
 
                             requestBuilder
                                     .addLeg()
-                                    .withIdAndRegion(account.getId(), account.getRegion())
+                                    .withIdAndRegion(accountKeys.getId(accountIndexes[value]), region)
                                     .withAmount(amount)
                                     .withNote(CockroachFacts.nextFact())
                                     .then();
                         });
 
-                        transactionService.processTransferRequest(requestBuilder.build());
+                        return requestBuilder.build();
                     };
 
+                    final Runnable unitOfWork = batch > 1
+                            ? () -> transactionService.processTransferRequests(
+                            Stream.generate(requestSupplier).limit(batch).toList())
+                            : () -> transactionService.processTransferRequest(requestSupplier.get());
+
                     IntStream.rangeClosed(1, threads).forEach(value -> {
                         getConsole().infof("Starting thread %d for region %s", value, region);
                         getExecutorTemplate().submit(
-                                "transfer writer #" + value + " (" + region + ")",
-                                unitOfWork, runtimeDuration);
+                                "transfer " + mode + " writer #" + value + " (" + region + ")"
+                                        + (batch > 1 ? " batch " + batch : ""),
+                                unitOfWork, runtimeDuration, workerRate);
                     });
                 });
     }
@@ -0,0 +1,141 @@
+package io.cockroachdb.workload.ledger;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.shell.standard.ShellCommandGroup;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.CallMetrics;
+import io.cockroachdb.workload.common.DatabasePopulator;
+import io.cockroachdb.workload.common.util.DurationFormat;
+import io.cockroachdb.workload.common.util.ParallelTasks;
+import io.cockroachdb.workload.common.util.UuidRange;
+import io.cockroachdb.workload.ledger.model.LedgerTotals;
+import io.cockroachdb.workload.ledger.repository.JdbcLedgerVerificationRepository;
+import io.cockroachdb.workload.ledger.repository.JdbcMetadataRepository;
+
+@ShellComponent
+@ShellCommandGroup("Workload")
+@Profiles.Ledger
+public class VerifyWorkload extends AbstractLedgerWorkload {
+    @Autowired
+    private JdbcLedgerVerificationRepository verificationRepository;
+
+    @Autowired
+    private JdbcMetadataRepository metadataRepository;
+
+    @Autowired
+    private CallMetrics callMetrics;
+
+    @ShellMethod(value = "Run ledger invariant verifier in the background (read-only)")
+    public void verify(
+            @ShellOption(help = "initial balance per account, as used by init", defaultValue = "100000.00")
+            String initialBalance,
+            @ShellOption(help = "interval between verification passes", defaultValue = "30s") String interval,
+            @ShellOption(help = "execution duration", defaultValue = "45m") String duration,
+            @ShellOption(help = "number of parallel key range scans (-1 for host vCPUs, requires --create-index "
+                    + "or an existing verifier index)", defaultValue = "-1")
+            int parallelism,
+            @ShellOption(help = "create covering index on transaction_item(account_id) for range scans, "
+                    + "at the cost of an extra index write per transfer leg", defaultValue = "false")
+            boolean createIndex
+    ) {
+        final BigDecimal funding = new BigDecimal(initialBalance);
+        final Duration intervalDuration = DurationFormat.parseDuration(interval);
+        final Duration runtimeDuration = DurationFormat.parseDuration(duration);
+
+        if (intervalDuration.isZero() || intervalDuration.isNegative()) {
+            throw new IllegalArgumentException("Interval must be > 0");
+        }
+
+        if (createIndex) {
+            getConsole().info("Creating verifier index..");
+            DatabasePopulator.executeScripts(getDataSource(), "db/ledger/create-verify-index.sql");
+        }
+
+        // Without the index every range would scan all transaction items, so scan them once
+        int rangeCount = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (!metadataRepository.indexExists("transaction_item", "transaction_item_account_id_idx")) {
+            getConsole().warnf("No index on transaction_item(account_id) - scanning as a single range "
+                    + "(use --create-index for parallel range scans)");
+            rangeCount = 1;
+        }
+        final List<UuidRange> ranges = UuidRange.split(rangeCount);
+
+        final CallMetrics.Context lagContext = callMetrics.of("ledger verifier lag", () -> 1);
+        final CallMetrics.Context rangeContext = callMetrics.of("ledger verifier range scan", ranges::size);
+
+        final Runnable unitOfWork = () -> {
+            final long startTime = System.nanoTime();
+            final String timestamp = metadataRepository.getFollowerReadTimestamp();
+
+            // Scan times are recorded from this thread since the scan threads only live for one pass
+            final long[] rangeNanos = new long[ranges.size()];
+            final List<Callable<List<LedgerTotals>>> tasks = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                final int rangeIndex = i;
+                tasks.add(() -> {
+                    long rangeStartTime = System.nanoTime();
+                    List<LedgerTotals> totals = verificationRepository
+                            .sumLedgerTotals(ranges.get(rangeIndex), timestamp, funding);
+                    rangeNanos[rangeIndex] = System.nanoTime() - rangeStartTime;
+                    return totals;
+                });
+            }
+
+            final Map<Currency, LedgerTotals> totalsByCurrency = new TreeMap<>(
+                    (a, b) -> a.getCurrencyCode().compareTo(b.getCurrencyCode()));
+            ParallelTasks.invokeAll("ledger verifier", tasks, ranges.size())
+                    .forEach(totals -> totals.forEach(t -> totalsByCurrency
+                            .computeIfAbsent(t.getCurrency(), LedgerTotals::new).merge(t)));
+
+            for (long nanos : rangeNanos) {
+                rangeContext.record(nanos);
+            }
+
+            // Lag is the staleness of the verified snapshot by the time the pass completes
+            final long snapshotNanos = Long.parseLong(timestamp.substring(0, timestamp.indexOf('.')));
+            lagContext.record(TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - snapshotNanos);
+
+            final double elapsedSec = (System.nanoTime() - startTime) / 1e9;
+            final long accounts = totalsByCurrency.values().stream()
+                    .mapToLong(LedgerTotals::getNumberOfAccounts).sum();
+
+            totalsByCurrency.values().forEach(totals -> {
+                BigDecimal drift = totals.drift(funding);
+                boolean valid = drift.signum() == 0
+                        && totals.getTotalItems().signum() == 0
+                        && totals.getMismatchedAccounts() == 0;
+                if (valid) {
+                    getConsole().successf("Ledger %s verified: %,d accounts with total balance %,.2f",
+                            totals.getCurrency(), totals.getNumberOfAccounts(), totals.getTotalBalance());
+                } else {
+                    getConsole().warnf("Ledger %s drift detected: total balance drift %,.2f, "
+                                    + "net transaction items %,.2f, %,d mismatched accounts",
+                            totals.getCurrency(), drift, totals.getTotalItems(), totals.getMismatchedAccounts());
+                }
+            });
+
+            getConsole().infof("Verified %,d accounts in %.1f sec (%,.0f accounts/s)",
+                    accounts, elapsedSec, elapsedSec > 0 ? accounts / elapsedSec : 0);
+        };
+
+        getConsole().infof("Verifying ledger every %s across %d key ranges", intervalDuration, ranges.size());
+
+        // Open loop at one pass per interval so slow passes show up as verifier latency
+        getExecutorTemplate().submit("ledger verifier", unitOfWork, runtimeDuration,
+                1.0 / (intervalDuration.toMillis() / 1000.0));
+    }
+}
@@ -0,0 +1,126 @@
+package io.cockroachdb.workload.ledger.model;
+
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact read-only cache of the account keys in one region, kept as primitive
+ * UUID halves and balance weights rather than full account entities. Takes about
+ * 20 bytes per account, so a million accounts fit in roughly 20MB.
+ */
+public class AccountKeyCache {
+    /**
+     * Merge builders filled in key order, such as from parallel range scans.
+     */
+    public static AccountKeyCache of(String region, List<Builder> builders) {
+        int size = builders.stream().mapToInt(b -> b.size).sum();
+
+        long[] msb = new long[size];
+        long[] lsb = new long[size];
+        float[] weights = new float[size];
+        Currency currency = null;
+
+        int offset = 0;
+        for (Builder b : builders) {
+            System.arraycopy(b.msb, 0, msb, offset, b.size);
+            System.arraycopy(b.lsb, 0, lsb, offset, b.size);
+            System.arraycopy(b.weights, 0, weights, offset, b.size);
+            offset += b.size;
+            if (currency == null) {
+                currency = b.currency;
+            }
+        }
+
+        return new AccountKeyCache(region, currency, msb, lsb, weights);
+    }
+
+    private final String region;
+
+    private final Currency currency;
+
+    private final long[] msb;
+
+    private final long[] lsb;
+
+    private final float[] weights;
+
+    private AccountKeyCache(String region, Currency currency, long[] msb, long[] lsb, float[] weights) {
+        this.region = region;
+        this.currency = currency;
+        this.msb = msb;
+        this.lsb = lsb;
+        this.weights = weights;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * @return the currency of the first account, or null if empty
+     */
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public int size() {
+        return msb.length;
+    }
+
+    public boolean isEmpty() {
+        return msb.length == 0;
+    }
+
+    public UUID getId(int index) {
+        return new UUID(msb[index], lsb[index]);
+    }
+
+    /**
+     * @return account balances (as of load time) as sampling weights
+     */
+    public double[] getWeights() {
+        double[] result = new double[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            result[i] = Math.max(0, weights[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Accumulates account keys for a single range scan. Not thread safe.
+     */
+    public static class Builder {
+        private long[] msb = new long[1024];
+
+        private long[] lsb = new long[1024];
+
+        private float[] weights = new float[1024];
+
+        private int size;
+
+        private Currency currency;
+
+        public Builder add(UUID id, double balance, String currencyCode) {
+            if (size == msb.length) {
+                int capacity = size * 2;
+                msb = Arrays.copyOf(msb, capacity);
+                lsb = Arrays.copyOf(lsb, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+            }
+            if (currency == null) {
+                currency = Currency.getInstance(currencyCode);
+            }
+            msb[size] = id.getMostSignificantBits();
+            lsb[size] = id.getLeastSignificantBits();
+            weights[size] = (float) balance;
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -1,8 +1,35 @@
 package io.cockroachdb.workload.ledger.model;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 public class AccountSummary {
+    private static BigDecimal min(BigDecimal a, BigDecimal b) {
+        return a == null ? b : (b == null ? a : a.min(b));
+    }
+
+    private static BigDecimal max(BigDecimal a, BigDecimal b) {
+        return a == null ? b : (b == null ? a : a.max(b));
+    }
+
+    /**
+     * Fold another partial summary into this one, such as from a page or key range.
+     *
+     * @param other the partial summary
+     * @return this summary
+     */
+    public AccountSummary merge(AccountSummary other) {
+        this.numberOfAccounts += other.numberOfAccounts;
+        this.totalBalance = totalBalance == null ? other.totalBalance
+                : (other.totalBalance == null ? totalBalance : totalBalance.add(other.totalBalance));
+        this.minBalance = min(minBalance, other.minBalance);
+        this.maxBalance = max(maxBalance, other.maxBalance);
+        this.avgBalance = numberOfAccounts > 0 && totalBalance != null
+                ? totalBalance.divide(BigDecimal.valueOf(numberOfAccounts), 2, RoundingMode.HALF_EVEN)
+                : null;
+        return this;
+    }
+
     private int numberOfAccounts;
 
     private BigDecimal totalBalance;
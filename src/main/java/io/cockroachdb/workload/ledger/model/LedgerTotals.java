@@ -0,0 +1,80 @@
+package io.cockroachdb.workload.ledger.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Ledger totals for one currency, as summed by the ledger verifier across key ranges.
+ */
+public class LedgerTotals {
+    private final Currency currency;
+
+    private long numberOfAccounts;
+
+    private BigDecimal totalBalance = BigDecimal.ZERO;
+
+    private BigDecimal totalItems = BigDecimal.ZERO;
+
+    private long mismatchedAccounts;
+
+    public LedgerTotals(Currency currency) {
+        this.currency = currency;
+    }
+
+    public LedgerTotals(Currency currency,
+                        long numberOfAccounts,
+                        BigDecimal totalBalance,
+                        BigDecimal totalItems,
+                        long mismatchedAccounts) {
+        this.currency = currency;
+        this.numberOfAccounts = numberOfAccounts;
+        this.totalBalance = totalBalance;
+        this.totalItems = totalItems;
+        this.mismatchedAccounts = mismatchedAccounts;
+    }
+
+    public LedgerTotals merge(LedgerTotals other) {
+        this.numberOfAccounts += other.numberOfAccounts;
+        this.totalBalance = totalBalance.add(other.totalBalance);
+        this.totalItems = totalItems.add(other.totalItems);
+        this.mismatchedAccounts += other.mismatchedAccounts;
+        return this;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public long getNumberOfAccounts() {
+        return numberOfAccounts;
+    }
+
+    /**
+     * @return sum of account balances
+     */
+    public BigDecimal getTotalBalance() {
+        return totalBalance;
+    }
+
+    /**
+     * @return sum of all transaction item amounts, which is zero for balanced transfers
+     */
+    public BigDecimal getTotalItems() {
+        return totalItems;
+    }
+
+    /**
+     * @return number of accounts where balance minus transaction items differs from the initial funding
+     */
+    public long getMismatchedAccounts() {
+        return mismatchedAccounts;
+    }
+
+    /**
+     * @param initialBalance the initial funding per account
+     * @return difference between the total balance and the initial funding of all accounts
+     */
+    public BigDecimal drift(BigDecimal initialBalance) {
+        return totalBalance.subtract(initialBalance.multiply(BigDecimal.valueOf(numberOfAccounts)));
+    }
+}
@@ -20,14 +20,10 @@ public interface AccountJpaRepository extends JpaRepository<Account, UUID> {
             + "where a.id = ?1")
     Money findBalanceById(UUID id);
 
-    @Query(value = "select a.balance "
-            + "from account a AS OF SYSTEM TIME follower_read_timestamp() "
-            + "where a.id = ?1", nativeQuery = true)
-    Money findBalanceSnapshotById(UUID id);
-
     @Query(value = "select a "
             + "from Account a "
-            + "where a.id in (?1)")
+            + "where a.id in (?1) "
+            + "order by a.id")
     @Lock(LockModeType.PESSIMISTIC_READ)
     List<Account> findAllForUpdate(Set<UUID> ids);
 }
@@ -7,6 +7,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.common.util.Money;
 import io.cockroachdb.workload.ledger.model.Account;
 import io.cockroachdb.workload.ledger.model.AccountSummary;
@@ -16,12 +17,19 @@ public interface AccountRepository {
 
     Money getBalance(UUID id);
 
-    Money getBalanceSnapshot(UUID id);
+    /**
+     * @param id the account id
+     * @param consistency the read consistency, issued as a single-statement implicit transaction
+     * @return the account balance
+     */
+    Money getBalance(UUID id, ReadConsistency consistency);
 
     List<Currency> getCurrencies();
 
     Money getTotalBalance(Currency currency);
 
+    int countAccountsByRegion(String region);
+
     List<Account> findAccountsByRegion(String region, int offset, int limit);
 
     List<Account> findAccountsForUpdate(Set<UUID> ids);
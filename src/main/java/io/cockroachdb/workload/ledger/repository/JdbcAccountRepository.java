@@ -0,0 +1,44 @@
+package io.cockroachdb.workload.ledger.repository;
+
+import java.util.function.Supplier;
+
+import io.cockroachdb.workload.common.util.UuidRange;
+import io.cockroachdb.workload.ledger.model.Account;
+import io.cockroachdb.workload.ledger.model.AccountKeyCache;
+import io.cockroachdb.workload.ledger.model.AccountSummary;
+
+/**
+ * Account repository operations that are only available over plain JDBC.
+ */
+public interface JdbcAccountRepository extends AccountRepository {
+    /**
+     * Insert accounts using COPY FROM STDIN in an implicit transaction.
+     *
+     * @param numAccounts number of accounts
+     * @param accountSupplier the account supplier
+     */
+    void copyAccounts(int numAccounts, Supplier<Account> accountSupplier);
+
+    /**
+     * Scan account keys in a region and key range using keyset pagination.
+     *
+     * @param region the account region
+     * @param range the key range to scan
+     * @param limit max number of keys to scan
+     * @param pageSize number of keys per page
+     * @param builder the key cache builder receiving keys in key order
+     */
+    void scanAccountKeys(String region, UuidRange range, int limit, int pageSize, AccountKeyCache.Builder builder);
+
+    /**
+     * Summarize accounts in a region and key range using keyset pagination, aggregating
+     * page by page at a fixed historical timestamp.
+     *
+     * @param region the account region
+     * @param range the key range to scan
+     * @param asOfSystemTime HLC timestamp literal for AS OF SYSTEM TIME
+     * @param pageSize number of accounts per page
+     * @return summary of the range
+     */
+    AccountSummary accountSummary(String region, UuidRange range, String asOfSystemTime, int pageSize);
+}
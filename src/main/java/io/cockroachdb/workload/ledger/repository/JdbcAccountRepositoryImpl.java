@@ -13,6 +13,8 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.function.Supplier;
 
+import javax.sql.DataSource;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
@@ -25,21 +27,32 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 import org.springframework.util.Assert;
 
 import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.CopyTemplate;
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.common.aspect.NotTransactional;
 import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.common.util.UuidRange;
 import io.cockroachdb.workload.ledger.model.Account;
+import io.cockroachdb.workload.ledger.model.AccountKeyCache;
 import io.cockroachdb.workload.ledger.model.AccountSummary;
 import io.cockroachdb.workload.ledger.model.AccountType;
 
 @Profiles.Ledger
 @Repository
-public class JdbcAccountRepositoryImpl implements AccountRepository {
+public class JdbcAccountRepositoryImpl implements JdbcAccountRepository {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
     @Autowired
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
+    private CopyTemplate copyTemplate;
+
+    @Autowired
+    public void setDataSource(DataSource dataSource) {
+        this.copyTemplate = new CopyTemplate(dataSource);
+    }
+
     @Override
     @NotTransactional // Use implicit
     public void createAccounts(int numAccounts, Supplier<Account> accountSupplier) {
@@ -71,6 +84,28 @@ public class JdbcAccountRepositoryImpl implements AccountRepository {
                 });
     }
 
+    @Override
+    @NotTransactional // Use implicit
+    public void copyAccounts(int numAccounts, Supplier<Account> accountSupplier) {
+        Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(), "TX active");
+
+        copyTemplate.copyIn("account",
+                List.of("region", "balance", "currency", "name", "description", "account_type", "closed",
+                        "allow_negative"),
+                numAccounts,
+                (encoder, row) -> {
+                    Account account = accountSupplier.get();
+                    encoder.write(account.getRegion())
+                            .write(account.getBalance().getAmount())
+                            .write(account.getBalance().getCurrency().getCurrencyCode())
+                            .write(account.getName())
+                            .write(account.getDescription())
+                            .write(account.getAccountType().getCode())
+                            .write(account.isClosed())
+                            .write(account.getAllowNegative());
+                });
+    }
+
     @Override
     public Money getBalance(UUID id) {
         return this.jdbcTemplate.queryForObject(
@@ -83,10 +118,10 @@ public class JdbcAccountRepositoryImpl implements AccountRepository {
     }
 
     @Override
-    public Money getBalanceSnapshot(UUID id) {
+    public Money getBalance(UUID id, ReadConsistency consistency) {
         return this.jdbcTemplate.queryForObject(
                 "SELECT balance,currency "
-                        + "FROM account a AS OF SYSTEM TIME follower_read_timestamp() "
+                        + "FROM account a " + consistency.asOfSystemTimeClause() + " "
                         + "WHERE id=?",
                 (rs, rowNum) -> Money.of(rs.getString(1), rs.getString(2)),
                 id
@@ -160,11 +195,20 @@ public class JdbcAccountRepositoryImpl implements AccountRepository {
         parameters.addValue("ids", new HashSet<>(ids));
 
         return this.namedParameterJdbcTemplate.query(
-                "SELECT * FROM account WHERE id in (:ids) FOR UPDATE",
+                "SELECT * FROM account WHERE id in (:ids) ORDER BY id FOR UPDATE",
                 parameters,
                 (rs, rowNum) -> readAccount(rs));
     }
 
+    @Override
+    public int countAccountsByRegion(String region) {
+        Integer count = this.jdbcTemplate.queryForObject(
+                "SELECT count(1) FROM account WHERE region=?",
+                Integer.class,
+                region);
+        return count != null ? count : 0;
+    }
+
     @Override
     public List<Account> findAccountsByRegion(String region, int offset, int limit) {
         MapSqlParameterSource parameters = new MapSqlParameterSource();
@@ -177,6 +221,49 @@ public class JdbcAccountRepositoryImpl implements AccountRepository {
                 parameters, (rs, rowNum) -> readAccount(rs));
     }
 
+    @Override
+    public void scanAccountKeys(String region, UuidRange range, int limit, int pageSize,
+                                AccountKeyCache.Builder builder) {
+        final String upperBound = range.isUnbounded() ? "" : "AND id < ? ";
+
+        UUID after = null;
+        int remaining = limit;
+
+        while (remaining > 0) {
+            final int size = Math.min(pageSize, remaining);
+            final UUID from = after != null ? after : range.getLower();
+            final UUID[] last = new UUID[1];
+            final int[] count = new int[1];
+
+            // First page includes the lower bound, subsequent pages continue after the last key seen
+            jdbcTemplate.query(
+                    "SELECT id, balance, currency FROM account "
+                            + "WHERE region = ? AND id " + (after == null ? ">=" : ">") + " ? " + upperBound
+                            + "ORDER BY id LIMIT ?",
+                    ps -> {
+                        int i = 1;
+                        ps.setString(i++, region);
+                        ps.setObject(i++, from);
+                        if (!range.isUnbounded()) {
+                            ps.setObject(i++, range.getUpper());
+                        }
+                        ps.setInt(i, size);
+                    },
+                    rs -> {
+                        last[0] = rs.getObject(1, UUID.class);
+                        builder.add(last[0], rs.getDouble(2), rs.getString(3));
+                        count[0]++;
+                    });
+
+            if (count[0] < size) {
+                break;
+            }
+
+            after = last[0];
+            remaining -= count[0];
+        }
+    }
+
     @Override
     public AccountSummary accountSummary(String region) {
         MapSqlParameterSource parameters = new MapSqlParameterSource();
@@ -203,6 +290,57 @@ public class JdbcAccountRepositoryImpl implements AccountRepository {
                 });
     }
 
+    @Override
+    public AccountSummary accountSummary(String region, UuidRange range, String asOfSystemTime, int pageSize) {
+        final String asOfClause = JdbcMetadataRepository.asOfSystemTime(asOfSystemTime);
+        final String upperBound = range.isUnbounded() ? "" : "AND id < ? ";
+        final AccountSummary summary = new AccountSummary();
+
+        UUID after = null;
+
+        while (true) {
+            final UUID from = after != null ? after : range.getLower();
+            final UUID[] last = new UUID[1];
+            final int[] count = new int[1];
+
+            // Aggregate each page server side and continue after the highest key in the page
+            jdbcTemplate.query(
+                    "SELECT count(1), sum(balance), min(balance), max(balance), max(id) "
+                            + "FROM (SELECT id, balance FROM account "
+                            + "WHERE region = ? AND id " + (after == null ? ">=" : ">") + " ? " + upperBound
+                            + "ORDER BY id LIMIT ?) AS page "
+                            + asOfClause,
+                    ps -> {
+                        int i = 1;
+                        ps.setString(i++, region);
+                        ps.setObject(i++, from);
+                        if (!range.isUnbounded()) {
+                            ps.setObject(i++, range.getUpper());
+                        }
+                        ps.setInt(i, pageSize);
+                    },
+                    rs -> {
+                        count[0] = rs.getInt(1);
+                        if (count[0] > 0) {
+                            summary.merge(new AccountSummary()
+                                    .setNumberOfAccounts(count[0])
+                                    .setTotalBalance(rs.getBigDecimal(2))
+                                    .setMinBalance(rs.getBigDecimal(3))
+                                    .setMaxBalance(rs.getBigDecimal(4)));
+                            last[0] = rs.getObject(5, UUID.class);
+                        }
+                    });
+
+            if (count[0] < pageSize) {
+                break;
+            }
+
+            after = last[0];
+        }
+
+        return summary;
+    }
+
     private Account readAccount(ResultSet rs) throws SQLException {
         Timestamp ts = rs.getTimestamp("updated_at");
         return Account.builder()
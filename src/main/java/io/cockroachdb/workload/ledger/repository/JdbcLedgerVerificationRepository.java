@@ -0,0 +1,64 @@
+package io.cockroachdb.workload.ledger.repository;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.util.UuidRange;
+import io.cockroachdb.workload.ledger.model.LedgerTotals;
+
+@Repository
+@Profiles.Ledger
+public class JdbcLedgerVerificationRepository {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sum account balances and transaction items per currency for an account key range,
+     * reading at a historical timestamp so it never contends with transfers.
+     *
+     * @param range the account key range
+     * @param asOfSystemTime HLC timestamp literal for AS OF SYSTEM TIME
+     * @param initialBalance the initial funding per account
+     * @return totals per currency in the range
+     */
+    public List<LedgerTotals> sumLedgerTotals(UuidRange range, String asOfSystemTime, BigDecimal initialBalance) {
+        final String asOfClause = JdbcMetadataRepository.asOfSystemTime(asOfSystemTime);
+
+        return jdbcTemplate.query(
+                "SELECT a.currency, "
+                        + "  count(1), "
+                        + "  sum(a.balance), "
+                        + "  sum(coalesce(t.total, 0)), "
+                        + "  sum(CASE WHEN a.balance - coalesce(t.total, 0) <> ? THEN 1 ELSE 0 END) "
+                        + "FROM account AS a "
+                        + "LEFT JOIN (SELECT account_id, sum(amount) AS total "
+                        + "  FROM transaction_item "
+                        + "  WHERE account_id >= ? " + (range.isUnbounded() ? "" : "AND account_id < ? ")
+                        + "  GROUP BY account_id) AS t ON t.account_id = a.id "
+                        + asOfClause + " "
+                        + "WHERE a.id >= ? " + (range.isUnbounded() ? "" : "AND a.id < ? ")
+                        + "GROUP BY a.currency",
+                ps -> {
+                    int i = 1;
+                    ps.setBigDecimal(i++, initialBalance);
+                    for (int n = 0; n < 2; n++) {
+                        ps.setObject(i++, range.getLower());
+                        if (!range.isUnbounded()) {
+                            ps.setObject(i++, range.getUpper());
+                        }
+                    }
+                },
+                (rs, rowNum) -> new LedgerTotals(
+                        Currency.getInstance(rs.getString(1)),
+                        rs.getLong(2),
+                        rs.getBigDecimal(3),
+                        rs.getBigDecimal(4),
+                        rs.getLong(5)));
+    }
+}
@@ -1,6 +1,8 @@
 package io.cockroachdb.workload.ledger.repository;
 
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -11,6 +13,17 @@ import io.cockroachdb.workload.Profiles;
 @Repository
 @Profiles.Ledger
 public class JdbcMetadataRepository {
+    /**
+     * @param timestamp HLC timestamp literal from {@link #getFollowerReadTimestamp()}
+     * @return AS OF SYSTEM TIME clause for the timestamp
+     */
+    public static String asOfSystemTime(String timestamp) {
+        if (!timestamp.matches("[0-9]+\\.[0-9]+")) {
+            throw new IllegalArgumentException("Not a HLC timestamp: " + timestamp);
+        }
+        return "AS OF SYSTEM TIME '" + timestamp + "'";
+    }
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
@@ -18,6 +31,28 @@ public class JdbcMetadataRepository {
         return jdbcTemplate.queryForList("select region from [show regions]", String.class);
     }
 
+    /**
+     * @return the current follower read timestamp as an HLC decimal literal, for use
+     * in AS OF SYSTEM TIME clauses to read a consistent snapshot across statements
+     */
+    public String getFollowerReadTimestamp() {
+        Timestamp ts = jdbcTemplate.queryForObject("SELECT follower_read_timestamp()", Timestamp.class);
+        long nanos = TimeUnit.MILLISECONDS.toNanos(ts.getTime() - ts.getTime() % 1000) + ts.getNanos();
+        return nanos + ".0000000000";
+    }
+
+    /**
+     * @param table the table name in the current schema
+     * @param index the index name
+     * @return true if the index exists
+     */
+    public boolean indexExists(String table, String index) {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(1) FROM information_schema.statistics "
+                        + "WHERE table_schema = current_schema() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+        return count != null && count > 0;
+    }
+
     public String getGatewayRegion() {
         return jdbcTemplate
                 .queryForObject("SELECT gateway_region()", String.class);
@@ -22,20 +22,36 @@ public class JdbcTransactionRepositoryImpl implements TransactionRepository {
 
     @Override
     public Transaction createTransaction(Transaction transaction) {
-        final LocalDate bookingDate = transaction.getBookingDate();
-        final LocalDate transferDate = transaction.getTransferDate();
+        createTransactions(List.of(transaction));
+        return transaction;
+    }
 
-        jdbcTemplate.update("INSERT INTO transaction "
+    @Override
+    public List<Transaction> createTransactions(List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate("INSERT INTO transaction "
                         + "(id,region,booking_date,transfer_date,transaction_type) "
-                        + "VALUES(?, ?, ?, ?, ?)",
-                transaction.getId(),
-                transaction.getRegion(),
-                bookingDate != null ? bookingDate : LocalDate.now(),
-                transferDate != null ? transferDate : LocalDate.now(),
-                transaction.getTransactionType()
-        );
+                        + "VALUES(?, ?, ?, ?, ?)", new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Transaction transaction = transactions.get(i);
+                        final LocalDate bookingDate = transaction.getBookingDate();
+                        final LocalDate transferDate = transaction.getTransferDate();
+                        ps.setObject(1, transaction.getId());
+                        ps.setString(2, transaction.getRegion());
+                        ps.setObject(3, bookingDate != null ? bookingDate : LocalDate.now());
+                        ps.setObject(4, transferDate != null ? transferDate : LocalDate.now());
+                        ps.setString(5, transaction.getTransactionType());
+                    }
 
-        final List<TransactionItem> items = transaction.getItems();
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                });
+
+        final List<TransactionItem> items = transactions.stream()
+                .flatMap(transaction -> transaction.getItems().stream())
+                .toList();
 
         jdbcTemplate.batchUpdate(
                 "INSERT INTO transaction_item "
@@ -59,6 +75,6 @@ public class JdbcTransactionRepositoryImpl implements TransactionRepository {
                     }
                 });
 
-        return transaction;
+        return transactions;
     }
 }
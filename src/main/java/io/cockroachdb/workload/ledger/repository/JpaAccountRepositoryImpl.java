@@ -16,6 +16,7 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 import org.springframework.util.Assert;
 
 import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.common.aspect.NotTransactional;
 import io.cockroachdb.workload.common.aspect.TransactionBoundary;
 import io.cockroachdb.workload.common.util.Money;
@@ -41,8 +42,13 @@ public class JpaAccountRepositoryImpl implements AccountRepository {
 
     @Override
     @NotTransactional
-    public Money getBalanceSnapshot(UUID id) {
-        return accountRepository.findBalanceSnapshotById(id);
+    public Money getBalance(UUID id, ReadConsistency consistency) {
+        Object[] row = (Object[]) entityManager.createNativeQuery("select a.balance, a.currency "
+                        + "from account a " + consistency.asOfSystemTimeClause() + " "
+                        + "where a.id = ?1")
+                .setParameter(1, id)
+                .getSingleResult();
+        return Money.of((BigDecimal) row[0], (String) row[1]);
     }
 
     @Override
@@ -69,6 +75,14 @@ public class JpaAccountRepositoryImpl implements AccountRepository {
         return accountRepository.findAllForUpdate(new HashSet<>(ids));
     }
 
+    @Override
+    public int countAccountsByRegion(String region) {
+        return entityManager.createQuery("SELECT count(a) FROM Account a WHERE a.region=?1", Long.class)
+                .setParameter(1, region)
+                .getSingleResult()
+                .intValue();
+    }
+
     @Override
     public List<Account> findAccountsByRegion(String region, int offset, int limit) {
         return entityManager.createQuery("SELECT a FROM Account a WHERE a.region=?1",
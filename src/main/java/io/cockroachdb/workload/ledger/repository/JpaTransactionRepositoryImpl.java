@@ -1,5 +1,7 @@
 package io.cockroachdb.workload.ledger.repository;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
@@ -20,4 +22,10 @@ public class JpaTransactionRepositoryImpl implements TransactionRepository {
         transactionItemRepository.saveAll(transaction.getItems());
         return transactionRepository.save(transaction);
     }
+
+    @Override
+    public List<Transaction> createTransactions(List<Transaction> transactions) {
+        transactions.forEach(transaction -> transactionItemRepository.saveAll(transaction.getItems()));
+        return transactionRepository.saveAll(transactions);
+    }
 }
@@ -1,7 +1,11 @@
 package io.cockroachdb.workload.ledger.repository;
 
+import java.util.List;
+
 import io.cockroachdb.workload.ledger.model.Transaction;
 
 public interface TransactionRepository {
     Transaction createTransaction(Transaction transaction);
+
+    List<Transaction> createTransactions(List<Transaction> transactions);
 }
@@ -8,9 +8,11 @@ import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.common.aspect.NotTransactional;
 import io.cockroachdb.workload.common.aspect.TransactionBoundary;
 import io.cockroachdb.workload.common.util.Money;
@@ -21,6 +23,9 @@ import io.cockroachdb.workload.ledger.model.AccountType;
 import io.cockroachdb.workload.ledger.repository.AccountRepository;
 
 public abstract class AbstractAccountService implements AccountService {
+    @Autowired
+    private BalanceCache balanceCache;
+
     protected abstract AccountRepository getAccountRepository();
 
     @Override
@@ -33,10 +38,33 @@ public abstract class AbstractAccountService implements AccountService {
 
         AtomicInteger counter = new AtomicInteger();
 
-        Supplier<Account> accountSupplier = () -> Account.builder()
+        Supplier<Account> accountSupplier = accountSupplier(region, initialBalance, counter);
+
+        for (int i = 0; i < numAccounts; i += batchSize) {
+            if (i + batchSize > numAccounts) {
+                batchSize = numAccounts - i;
+            }
+            getAccountRepository().createAccounts(batchSize, accountSupplier);
+        }
+
+        return counter.get();
+    }
+
+    @Override
+    @NotTransactional
+    public void createAccountBatch(String region,
+                                   Money initialBalance,
+                                   int batchSize,
+                                   AtomicInteger nameSequence) {
+        Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(), "Transaction active");
+        getAccountRepository().createAccounts(batchSize, accountSupplier(region, initialBalance, nameSequence));
+    }
+
+    protected Supplier<Account> accountSupplier(String region, Money initialBalance, AtomicInteger nameSequence) {
+        return () -> Account.builder()
                 .withId(UUID.randomUUID())
                 .withRegion(region)
-                .withName("user:" + counter.incrementAndGet())
+                .withName("user:" + nameSequence.incrementAndGet())
                 .withDescription(RandomData.randomLoreIpsum(5, 10, false))
                 .withBalance(initialBalance)
                 .withAccountType(AccountType.ASSET)
@@ -45,15 +73,11 @@ public abstract class AbstractAccountService implements AccountService {
                 .withAllowNegative(false)
                 .withClosed(false)
                 .build();
+    }
 
-        for (int i = 0; i < numAccounts; i += batchSize) {
-            if (i + batchSize > numAccounts) {
-                batchSize = numAccounts - i;
-            }
-            getAccountRepository().createAccounts(batchSize, accountSupplier);
-        }
-
-        return counter.get();
+    @Override
+    public int countAccountsByRegion(String region) {
+        return getAccountRepository().countAccountsByRegion(region);
     }
 
     @Override
@@ -66,13 +90,16 @@ public abstract class AbstractAccountService implements AccountService {
     @Override
     public Money getBalance(UUID id) {
         Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(), "Transaction active");
-        return getAccountRepository().getBalance(id);
+        return balanceCache.get(id, false, getAccountRepository()::getBalance);
     }
 
     @Override
-    public Money getBalanceSnapshot(UUID id) {
+    public Money getBalance(UUID id, ReadConsistency consistency) {
         Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(), "Transaction active");
-        return getAccountRepository().getBalanceSnapshot(id);
+        if (consistency.isStrong()) {
+            return getBalance(id);
+        }
+        return balanceCache.get(id, true, key -> getAccountRepository().getBalance(key, consistency));
     }
 
     @Override
@@ -1,14 +1,19 @@
 package io.cockroachdb.workload.ledger.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Currency;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.util.Pair;
+import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
@@ -21,6 +26,9 @@ import io.cockroachdb.workload.ledger.repository.AccountRepository;
 import io.cockroachdb.workload.ledger.repository.TransactionRepository;
 
 public abstract class AbstractTransferService implements TransferService {
+    @Autowired
+    private BalanceCache balanceCache;
+
     protected abstract AccountRepository getAccountRepository();
 
     protected abstract TransactionRepository getTransactionRepository();
@@ -31,46 +39,88 @@ public abstract class AbstractTransferService implements TransferService {
         Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
                 "No transaction context - check Spring profile settings");
 
-        if (request.getAccountLegs().size() < 2) {
-            throw new BadRequestException("Must have at least two account legs");
+        processTransferRequestsInternal(List.of(request));
+    }
+
+    @Override
+    @TransactionBoundary
+    public void processTransferRequests(List<TransferRequest> requests) {
+        Assert.isTrue(TransactionSynchronizationManager.isActualTransactionActive(),
+                "No transaction context - check Spring profile settings");
+
+        if (requests.isEmpty()) {
+            throw new BadRequestException("Must have at least one transfer request");
         }
 
-        // Coalesce multi-legged transactions
-        final Map<UUID, Pair<Money, String>> legs = coalesce(request);
+        processTransferRequestsInternal(requests);
+    }
 
-        // Lookup accounts with authoritative reads
-        final List<Account> accounts = getAccountRepository().findAccountsForUpdate(legs.keySet());
+    private void processTransferRequestsInternal(List<TransferRequest> requests) {
+        // Coalesce multi-legged transactions
+        final Map<TransferRequest, Map<UUID, Pair<Money, String>>> legsPerRequest = new LinkedHashMap<>();
+        final Set<UUID> accountIds = new HashSet<>();
 
-        final Transaction.Builder transactionBuilder = Transaction.builder()
-                .withId(request.getId())
-                .withRegion(request.getRegion())
-                .withTransferType(request.getTransactionType())
-                .withBookingDate(request.getBookingDate())
-                .withTransferDate(request.getTransferDate());
+        requests.forEach(request -> {
+            if (request.getAccountLegs().size() < 2) {
+                throw new BadRequestException("Must have at least two account legs");
+            }
+            Map<UUID, Pair<Money, String>> legs = coalesce(request);
+            legsPerRequest.put(request, legs);
+            accountIds.addAll(legs.keySet());
+        });
 
-        legs.forEach((accountId, value) -> {
-            final Money amount = value.getFirst();
+        // Lookup accounts with authoritative reads, locked in key order across the whole batch
+        final Map<UUID, Account> accounts = new LinkedHashMap<>();
+        getAccountRepository().findAccountsForUpdate(accountIds)
+                .forEach(account -> accounts.put(account.getId(), account));
 
-            Account account = accounts.stream().filter(a -> Objects.equals(a.getId(), accountId))
-                    .findFirst().orElseThrow(() -> new NoSuchAccountException(accountId.toString()));
+        final List<Transaction> transactions = new ArrayList<>(requests.size());
 
-            transactionBuilder
-                    .andItem()
+        legsPerRequest.forEach((request, legs) -> {
+            final Transaction.Builder transactionBuilder = Transaction.builder()
+                    .withId(request.getId())
                     .withRegion(request.getRegion())
-                    .withAccount(account)
-                    .withRunningBalance(account.getBalance())
-                    .withAmount(amount)
-                    .withNote(value.getSecond())
-                    .then();
-
-            account.addAmount(amount);
+                    .withTransferType(request.getTransactionType())
+                    .withBookingDate(request.getBookingDate())
+                    .withTransferDate(request.getTransferDate());
+
+            legs.forEach((accountId, value) -> {
+                final Money amount = value.getFirst();
+
+                Account account = accounts.get(accountId);
+                if (account == null) {
+                    throw new NoSuchAccountException(accountId.toString());
+                }
+
+                transactionBuilder
+                        .andItem()
+                        .withRegion(request.getRegion())
+                        .withAccount(account)
+                        .withRunningBalance(account.getBalance())
+                        .withAmount(amount)
+                        .withNote(value.getSecond())
+                        .then();
+
+                account.addAmount(amount);
+            });
+
+            transactions.add(transactionBuilder.build());
         });
 
-        getAccountRepository().updateBalances(accounts);
-        getTransactionRepository().createTransaction(transactionBuilder.build());
+        getAccountRepository().updateBalances(new ArrayList<>(accounts.values()));
+        getTransactionRepository().createTransactions(transactions);
+
+        // Cached balances are dropped once the new ones are visible to readers
+        final Set<UUID> updatedIds = new HashSet<>(accounts.keySet());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                balanceCache.invalidate(updatedIds);
+            }
+        });
     }
 
-    private Map<UUID, Pair<Money, String>> coalesce(TransferRequest request) {
+    static Map<UUID, Pair<Money, String>> coalesce(TransferRequest request) {
         final Map<UUID, Pair<Money, String>> legs = new HashMap<>();
         final Map<Currency, BigDecimal> amounts = new HashMap<>();
 
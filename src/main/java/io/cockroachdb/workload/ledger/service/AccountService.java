@@ -3,7 +3,9 @@ package io.cockroachdb.workload.ledger.service;
 import java.util.Currency;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.common.util.Money;
 import io.cockroachdb.workload.ledger.model.Account;
 import io.cockroachdb.workload.ledger.model.AccountSummary;
@@ -14,11 +16,31 @@ public interface AccountService {
                        int numAccounts,
                        int batchSize);
 
+    /**
+     * Create a single batch of accounts, safe to call concurrently.
+     *
+     * @param region the account region
+     * @param initialBalance the initial balance
+     * @param batchSize number of accounts in the batch
+     * @param nameSequence shared sequence for account names
+     */
+    void createAccountBatch(String region,
+                            Money initialBalance,
+                            int batchSize,
+                            AtomicInteger nameSequence);
+
+    int countAccountsByRegion(String region);
+
     List<Account> findAccountsByRegion(String region, int offset, int limit);
 
     Money getBalance(UUID id);
 
-    Money getBalanceSnapshot(UUID id);
+    /**
+     * @param id the account id
+     * @param consistency the read consistency
+     * @return the account balance
+     */
+    Money getBalance(UUID id, ReadConsistency consistency);
 
     List<Currency> getCurrencies();
 
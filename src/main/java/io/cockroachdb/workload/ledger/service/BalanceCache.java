@@ -0,0 +1,188 @@
+package io.cockroachdb.workload.ledger.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.CallMetrics;
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.common.util.Multiplier;
+
+/**
+ * Optional client-side cache of account balances in front of the account services, modelling
+ * services that front the database with a read cache. Eviction is W-TinyLFU (Caffeine) bounded
+ * by number of entries or approximate heap size, with a time-to-live since load.
+ * <p>
+ * Transfers invalidate the balances of all accounts involved after commit. An invalidation
+ * racing with an in-flight load waits for the load to complete and then discards it, so entries
+ * are never older than the latest committed transfer known to this process. Transfers made by
+ * other processes are only observed once entries expire.
+ */
+@Component
+@Profiles.Ledger
+public class BalanceCache {
+    /**
+     * Approximate retained heap per entry, including key, balance and cache node overhead.
+     */
+    private static final int ENTRY_WEIGHT_BYTES = 200;
+
+    private static final class Entry {
+        final Money balance;
+
+        final long loadTime = System.nanoTime();
+
+        final boolean snapshot;
+
+        Entry(Money balance, boolean snapshot) {
+            this.balance = balance;
+            this.snapshot = snapshot;
+        }
+    }
+
+    private volatile Cache<UUID, Entry> cache;
+
+    private volatile CallMetrics.Context hitContext;
+
+    private volatile CallMetrics.Context missContext;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * (Re)configure the cache, dropping all current entries.
+     *
+     * @param size max number of entries (e.g. 100k) or heap size in MB (e.g. 64mb), 0 to disable
+     * @param ttl time-to-live since load
+     * @param callMetrics metrics for cache hits (staleness) and misses (database reads)
+     */
+    public synchronized void configure(String size, Duration ttl, CallMetrics callMetrics) {
+        if (ttl.isZero() || ttl.isNegative()) {
+            throw new IllegalArgumentException("Cache TTL must be > 0");
+        }
+
+        final String spec = size.trim().toLowerCase(Locale.ROOT);
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .recordStats();
+
+        if (spec.endsWith("mb")) {
+            final long bytes = Multiplier.parseInt(spec.substring(0, spec.length() - 2).trim()) * 1024L * 1024L;
+            if (bytes <= 0) {
+                disable();
+                return;
+            }
+            builder.maximumWeight(bytes).weigher((key, value) -> ENTRY_WEIGHT_BYTES);
+        } else {
+            final int entries = Multiplier.parseInt(spec);
+            if (entries <= 0) {
+                disable();
+                return;
+            }
+            builder.maximumSize(entries);
+        }
+
+        this.hits.reset();
+        this.misses.reset();
+        this.invalidations.reset();
+        this.hitContext = callMetrics.of("balance cache hit (staleness)", () -> 1);
+        this.missContext = callMetrics.of("balance cache miss (database read)", () -> 1);
+        this.cache = builder.build();
+    }
+
+    public synchronized void disable() {
+        this.cache = null;
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Get a balance from the cache or load it on a miss. Snapshot reads accept any cached
+     * entry while current reads reload entries that were loaded by snapshot reads.
+     *
+     * @param id the account id
+     * @param snapshot true if the loader reads a historical (follower read) snapshot
+     * @param loader the database read
+     * @return the balance
+     */
+    public Money get(UUID id, boolean snapshot, Function<UUID, Money> loader) {
+        final Cache<UUID, Entry> c = this.cache;
+        if (c == null) {
+            return loader.apply(id);
+        }
+
+        Entry entry = c.getIfPresent(id);
+        if (entry != null && (snapshot || !entry.snapshot)) {
+            hits.increment();
+            hitContext.record(System.nanoTime() - entry.loadTime);
+            return entry.balance;
+        }
+
+        // Loads run under the entry lock so concurrent readers of the same account share one read
+        final long startTime = System.nanoTime();
+        final boolean[] loaded = new boolean[1];
+        entry = c.asMap().compute(id, (key, existing) -> {
+            if (existing != null && (snapshot || !existing.snapshot)) {
+                return existing;
+            }
+            loaded[0] = true;
+            return new Entry(loader.apply(key), snapshot);
+        });
+
+        if (loaded[0]) {
+            misses.increment();
+            missContext.record(System.nanoTime() - startTime);
+        } else {
+            hits.increment();
+            hitContext.record(System.nanoTime() - entry.loadTime);
+        }
+
+        return entry.balance;
+    }
+
+    public void invalidate(Collection<UUID> ids) {
+        final Cache<UUID, Entry> c = this.cache;
+        if (c != null) {
+            c.invalidateAll(ids);
+            invalidations.add(ids.size());
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of reads served by the database
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public long getEvictions() {
+        final Cache<UUID, Entry> c = this.cache;
+        return c != null ? c.stats().evictionCount() : 0;
+    }
+
+    public long getEstimatedSize() {
+        final Cache<UUID, Entry> c = this.cache;
+        return c != null ? c.estimatedSize() : 0;
+    }
+}
@@ -0,0 +1,146 @@
+package io.cockroachdb.workload.ledger.service;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.util.Pair;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.aspect.NotTransactional;
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.ledger.model.TransferRequest;
+
+/**
+ * Transfer service performing each transfer as a single CTE statement in an implicit
+ * transaction, which allows the server to retry serialization conflicts transparently.
+ * <p>
+ * The statement updates all account balances, inserts the transaction row and then the
+ * item rows with running balances taken from the updated accounts. If any leg fails to
+ * match an open account in the same currency, the transaction id resolves to NULL and the
+ * entire statement fails on the not-null constraint, leaving nothing applied.
+ */
+@Profiles.Ledger
+@Service
+public class CteTransferService implements TransferService {
+    private static final String TRANSFER_SQL = "WITH legs AS ("
+            + "  SELECT * FROM unnest(?::UUID[], ?::DECIMAL[], ?::STRING[], ?::STRING[]) "
+            + "    AS l(account_id, amount, currency, note)"
+            + "), updated AS ("
+            + "  UPDATE account SET balance = account.balance + legs.amount, updated_at = clock_timestamp() "
+            + "  FROM legs "
+            + "  WHERE account.id = legs.account_id "
+            + "    AND account.closed = false "
+            + "    AND account.currency = legs.currency "
+            + "  RETURNING account.id, account.balance - legs.amount AS running_balance, "
+            + "    legs.amount, legs.currency, legs.note"
+            + "), tx AS ("
+            + "  INSERT INTO transaction (id, region, booking_date, transfer_date, transaction_type) "
+            + "  VALUES (CASE WHEN (SELECT count(*) FROM updated) = ? THEN ?::UUID END, ?, ?, ?, ?) "
+            + "  RETURNING id"
+            + ") "
+            + "INSERT INTO transaction_item "
+            + "(region, transaction_id, account_id, amount, currency, note, running_balance) "
+            + "SELECT ?, tx.id, updated.id, updated.amount, updated.currency, updated.note, updated.running_balance "
+            + "FROM updated, tx";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Override
+    @NotTransactional
+    public void processTransferRequest(TransferRequest request) {
+        processTransferRequests(List.of(request));
+    }
+
+    /**
+     * Sends the transfer statements in a single JDBC batch (one round-trip). In autocommit
+     * mode the driver ends the batch with a single Sync, so the whole batch runs as one
+     * implicit transaction that is atomic and retried by the server as a unit.
+     */
+    @Override
+    @NotTransactional
+    public void processTransferRequests(List<TransferRequest> requests) {
+        Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(), "TX active");
+
+        final List<Map<UUID, Pair<Money, String>>> legsPerRequest = new ArrayList<>(requests.size());
+        requests.forEach(request -> {
+            if (request.getAccountLegs().size() < 2) {
+                throw new BadRequestException("Must have at least two account legs");
+            }
+            legsPerRequest.add(AbstractTransferService.coalesce(request));
+        });
+
+        // Invalidate regardless of outcome, dropping a few extra entries is harmless
+        try {
+            int[] rowsAffected = jdbcTemplate.batchUpdate(TRANSFER_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    TransferRequest request = requests.get(i);
+                    Map<UUID, Pair<Money, String>> legs = legsPerRequest.get(i);
+
+                    List<UUID> ids = new ArrayList<>(legs.size());
+                    List<BigDecimal> amounts = new ArrayList<>(legs.size());
+                    List<String> currencies = new ArrayList<>(legs.size());
+                    List<String> notes = new ArrayList<>(legs.size());
+
+                    legs.forEach((id, leg) -> {
+                        ids.add(id);
+                        amounts.add(leg.getFirst().getAmount());
+                        currencies.add(leg.getFirst().getCurrency().getCurrencyCode());
+                        notes.add(leg.getSecond());
+                    });
+
+                    LocalDate bookingDate = request.getBookingDate();
+                    LocalDate transferDate = request.getTransferDate();
+
+                    Connection connection = ps.getConnection();
+
+                    int idx = 1;
+                    ps.setArray(idx++, connection.createArrayOf("uuid", ids.toArray()));
+                    ps.setArray(idx++, connection.createArrayOf("numeric", amounts.toArray()));
+                    ps.setArray(idx++, connection.createArrayOf("varchar", currencies.toArray()));
+                    ps.setArray(idx++, connection.createArrayOf("varchar", notes.toArray()));
+                    ps.setInt(idx++, legs.size());
+                    ps.setObject(idx++, request.getId());
+                    ps.setString(idx++, request.getRegion());
+                    ps.setObject(idx++, bookingDate != null ? bookingDate : LocalDate.now());
+                    ps.setObject(idx++, transferDate != null ? transferDate : LocalDate.now());
+                    ps.setString(idx++, request.getTransactionType());
+                    ps.setString(idx, request.getRegion());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return requests.size();
+                }
+            });
+
+            // Trust but verify
+            for (int i = 0; i < rowsAffected.length; i++) {
+                int expected = legsPerRequest.get(i).size();
+                if (rowsAffected[i] >= 0 && rowsAffected[i] != expected) {
+                    throw new IncorrectResultSizeDataAccessException(expected, rowsAffected[i]);
+                }
+            }
+        } finally {
+            legsPerRequest.forEach(legs -> balanceCache.invalidate(legs.keySet()));
+        }
+    }
+}
@@ -1,21 +1,116 @@
 package io.cockroachdb.workload.ledger.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
 
 import io.cockroachdb.workload.Profiles;
-import io.cockroachdb.workload.ledger.repository.AccountRepository;
+import io.cockroachdb.workload.common.aspect.NotTransactional;
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.common.util.ParallelTasks;
+import io.cockroachdb.workload.common.util.UuidRange;
+import io.cockroachdb.workload.ledger.model.AccountKeyCache;
+import io.cockroachdb.workload.ledger.model.AccountSummary;
+import io.cockroachdb.workload.ledger.repository.JdbcAccountRepository;
+import io.cockroachdb.workload.ledger.repository.JdbcMetadataRepository;
 
 @Profiles.Ledger
 @Repository
 public class JdbcAccountService extends AbstractAccountService {
+    private static final int KEY_SCAN_PAGE_SIZE = 8192;
+
+    private static final int SUMMARY_PAGE_SIZE = 65536;
+
+    @Autowired
+    private JdbcMetadataRepository jdbcMetadataRepository;
+
     @Autowired
     @Qualifier("jdbcAccountRepositoryImpl")
-    private AccountRepository accountRepository;
+    private JdbcAccountRepository accountRepository;
 
     @Override
-    protected AccountRepository getAccountRepository() {
+    protected JdbcAccountRepository getAccountRepository() {
         return accountRepository;
     }
+
+    /**
+     * Create a single batch of accounts using COPY, safe to call concurrently.
+     *
+     * @param region the account region
+     * @param initialBalance the initial balance
+     * @param batchSize number of accounts in the batch
+     * @param nameSequence shared sequence for account names
+     */
+    @NotTransactional
+    public void copyAccountBatch(String region,
+                                 Money initialBalance,
+                                 int batchSize,
+                                 AtomicInteger nameSequence) {
+        Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(), "Transaction active");
+        getAccountRepository().copyAccounts(batchSize, accountSupplier(region, initialBalance, nameSequence));
+    }
+
+    /**
+     * Load account keys for a region into a compact cache by scanning key ranges in parallel.
+     *
+     * @param region the account region
+     * @param limit max number of keys to load (approximate), or -1 for all
+     * @param parallelism number of key ranges scanned concurrently
+     */
+    @NotTransactional
+    public AccountKeyCache loadAccountKeys(String region, int limit, int parallelism) {
+        Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(), "Transaction active");
+
+        final List<UuidRange> ranges = UuidRange.split(Math.max(1, parallelism));
+        final int rangeLimit = limit > 0 ? (limit + ranges.size() - 1) / ranges.size() : Integer.MAX_VALUE;
+
+        // Random UUIDs spread evenly so each range gets its share of the limit
+        final List<Callable<AccountKeyCache.Builder>> tasks = new ArrayList<>();
+        ranges.forEach(range -> tasks.add(() -> {
+            AccountKeyCache.Builder builder = new AccountKeyCache.Builder();
+            getAccountRepository().scanAccountKeys(region, range, rangeLimit, KEY_SCAN_PAGE_SIZE, builder);
+            return builder;
+        }));
+
+        return AccountKeyCache.of(region, ParallelTasks.invokeAll("key scan", tasks, parallelism));
+    }
+
+    /**
+     * Summarize accounts per region by scanning key ranges of all regions in parallel
+     * at a common follower read timestamp.
+     *
+     * @param regions the account regions
+     * @param parallelism number of key ranges per region
+     * @return summaries by region in the given order
+     */
+    @NotTransactional
+    public Map<String, AccountSummary> accountSummaries(List<String> regions, int parallelism) {
+        Assert.isTrue(!TransactionSynchronizationManager.isActualTransactionActive(), "Transaction active");
+
+        // All ranges of all regions read the same snapshot
+        final String asOfSystemTime = jdbcMetadataRepository.getFollowerReadTimestamp();
+        final List<UuidRange> ranges = UuidRange.split(Math.max(1, parallelism));
+
+        final List<Callable<AccountSummary>> tasks = new ArrayList<>();
+        regions.forEach(region -> ranges.forEach(range -> tasks.add(() ->
+                getAccountRepository().accountSummary(region, range, asOfSystemTime, SUMMARY_PAGE_SIZE))));
+
+        final List<AccountSummary> partials = ParallelTasks.invokeAll("summary scan", tasks, parallelism);
+
+        final Map<String, AccountSummary> summaries = new LinkedHashMap<>();
+        for (int i = 0; i < partials.size(); i++) {
+            summaries.computeIfAbsent(regions.get(i / ranges.size()), r -> new AccountSummary())
+                    .merge(partials.get(i));
+        }
+        return summaries;
+    }
 }
@@ -1,7 +1,16 @@
 package io.cockroachdb.workload.ledger.service;
 
+import java.util.List;
+
 import io.cockroachdb.workload.ledger.model.TransferRequest;
 
 public interface TransferService {
     void processTransferRequest(TransferRequest transferRequest);
+
+    /**
+     * Process a batch of independent transfer requests in a single transaction.
+     *
+     * @param transferRequests the transfer requests
+     */
+    void processTransferRequests(List<TransferRequest> transferRequests);
 }
@@ -7,12 +7,14 @@ import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.shell.standard.ShellCommandGroup;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
@@ -20,13 +22,18 @@ import org.springframework.shell.standard.ShellOption;
 
 import io.cockroachdb.workload.Profiles;
 import io.cockroachdb.workload.common.DatabasePopulator;
+import io.cockroachdb.workload.common.KeyDistribution;
+import io.cockroachdb.workload.common.KeyType;
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.common.command.AbstractCommand;
 import io.cockroachdb.workload.common.command.Workload;
 import io.cockroachdb.workload.common.util.DurationFormat;
 import io.cockroachdb.workload.common.util.Multiplier;
-import io.cockroachdb.workload.common.util.RandomData;
+import io.cockroachdb.workload.common.util.RateFormat;
 import io.cockroachdb.workload.order.model.Order;
 import io.cockroachdb.workload.order.model.OrderEntities;
+import io.cockroachdb.workload.order.model.OrderGenerator;
+import io.cockroachdb.workload.order.repository.JdbcOrderRepository;
 import io.cockroachdb.workload.order.repository.OrderRepository;
 
 @Profiles.Order
@@ -35,7 +42,7 @@ import io.cockroachdb.workload.order.repository.OrderRepository;
 public class OrderWorkload extends AbstractCommand implements Workload {
     @Autowired
     @Qualifier("jdbcOrderRepository")
-    private OrderRepository jdbcOrderRepository;
+    private JdbcOrderRepository jdbcOrderRepository;
 
     @Autowired
     @Qualifier("jpaOrderRepository")
@@ -48,11 +55,23 @@ public class OrderWorkload extends AbstractCommand implements Workload {
 
     @ShellMethod(value = "Initialize order workload")
     public void init(
-            @ShellOption(help = "drop tables before creating", defaultValue = "false") boolean drop) {
+            @ShellOption(help = "drop tables before creating", defaultValue = "false") boolean drop,
+            @ShellOption(help = "primary key type (uuid|uuidv7)", defaultValue = "uuid") String keyType,
+            @ShellOption(help = "use hash-sharded primary key", defaultValue = "false") boolean hashSharded,
+            @ShellOption(help = "add secondary index", defaultValue = "false") boolean secondaryIndex) {
+        final KeyType type = KeyType.of(keyType);
+        if (type == KeyType.ROWID) {
+            throw new IllegalArgumentException("Order IDs are UUIDs, use uuid or uuidv7 keys");
+        }
         if (drop) {
             DatabasePopulator.executeScripts(getDataSource(), "db/order/drop-order.sql");
         }
-        DatabasePopulator.executeScripts(getDataSource(), "db/order/create-order.sql");
+        getConsole().successf("Creating orders table with %s%s keys%s", hashSharded ? "hash-sharded " : "",
+                type, secondaryIndex ? " and secondary index" : "");
+        DatabasePopulator.executeScripts(getDataSource(),
+                type.placeholders(hashSharded, secondaryIndex
+                        ? "create index if not exists orders_id_idx on orders (id);" : ""),
+                "db/order/create-order.sql");
         onPostInit();
     }
 
@@ -67,14 +86,20 @@ public class OrderWorkload extends AbstractCommand implements Workload {
             @ShellOption(help = "number of write threads", defaultValue = "-1") int writeThreads,
             @ShellOption(help = "write batch size", defaultValue = "16") String batchSize,
             @ShellOption(help = "execution duration", defaultValue = "45m") String duration,
-            @ShellOption(help = "data access method (jdbc|jpa)", defaultValue = "jdbc") String method,
+            @ShellOption(help = "data access method (jdbc|jpa|copy)", defaultValue = "jdbc") String method,
             @ShellOption(help = "include JSON payload (customer profile)", defaultValue = "false") boolean includeJson,
-            @ShellOption(help = "follower reads", defaultValue = "false") boolean followerReads,
-            @ShellOption(help = "number of order IDs to read", defaultValue = "10000") int limit
+            @ShellOption(help = "generate orders from pre-built entity pools", defaultValue = "false") boolean pooled,
+            @ShellOption(help = "follower reads (same as --consistency follower)", defaultValue = "false") boolean followerReads,
+            @ShellOption(help = ReadConsistency.HELP, defaultValue = "strong") String consistency,
+            @ShellOption(help = "number of order IDs to read", defaultValue = "10000") int limit,
+            @ShellOption(help = "target read rate across all threads, e.g. 5K/s (default unbounded closed loop)", defaultValue = "0") String readRate,
+            @ShellOption(help = "target write (batch) rate across all threads, e.g. 100/s (default unbounded closed loop)", defaultValue = "0") String writeRate,
+            @ShellOption(help = KeyDistribution.HELP, defaultValue = "uniform") String distribution
     ) {
         CountDownLatch readerLatch = new CountDownLatch(limit);
-        runReaders(readThreads, duration, method, followerReads, limit, readerLatch);
-        runWriters(writeThreads, duration, method, batchSize, includeJson, readerLatch);
+        runReaders(readThreads, duration, method, followerReads, consistency, limit, readRate, distribution,
+                readerLatch);
+        runWriters(writeThreads, duration, method, batchSize, includeJson, pooled, writeRate, readerLatch);
     }
 
     @ShellMethod(value = "Run order readers")
@@ -82,8 +107,11 @@ public class OrderWorkload extends AbstractCommand implements Workload {
             @ShellOption(help = "number of threads", defaultValue = "-1") int threads,
             @ShellOption(help = "execution duration", defaultValue = "45m") String duration,
             @ShellOption(help = "data access method (jdbc|jpa)", defaultValue = "jdbc") String method,
-            @ShellOption(help = "follower reads", defaultValue = "false") boolean followerReads,
+            @ShellOption(help = "follower reads (same as --consistency follower)", defaultValue = "false") boolean followerReads,
+            @ShellOption(help = ReadConsistency.HELP, defaultValue = "strong") String consistency,
             @ShellOption(help = "number of order IDs to read", defaultValue = "10000") int limit,
+            @ShellOption(help = "target rate across all threads, e.g. 5K/s (default unbounded closed loop)", defaultValue = "0") String rate,
+            @ShellOption(help = KeyDistribution.HELP, defaultValue = "uniform") String distribution,
             @ShellOption(defaultValue = ShellOption.NULL) CountDownLatch readerLatch
     ) {
         if (threads <= 0) {
@@ -100,22 +128,27 @@ public class OrderWorkload extends AbstractCommand implements Workload {
                 Thread.currentThread().interrupt();
             }
         }
-        runReaders(threads, limit, DurationFormat.parseDuration(duration), method, followerReads);
+        runReaders(threads, limit, DurationFormat.parseDuration(duration), method,
+                followerReads ? ReadConsistency.FOLLOWER : ReadConsistency.of(consistency),
+                RateFormat.parseRate(rate) / threads, distribution);
     }
 
     @ShellMethod(value = "Run order writers")
     public void runWriters(
             @ShellOption(help = "number of threads", defaultValue = "-1") int threads,
             @ShellOption(help = "execution duration", defaultValue = "45m") String duration,
-            @ShellOption(help = "data access method (jdbc|jpa)", defaultValue = "jdbc") String method,
+            @ShellOption(help = "data access method (jdbc|jpa|copy)", defaultValue = "jdbc") String method,
             @ShellOption(help = "batch size", defaultValue = "16") String batchSize,
             @ShellOption(help = "include JSON payload", defaultValue = "false") boolean includeJson,
+            @ShellOption(help = "generate orders from pre-built entity pools", defaultValue = "false") boolean pooled,
+            @ShellOption(help = "target (batch) rate across all threads, e.g. 100/s (default unbounded closed loop)", defaultValue = "0") String rate,
             @ShellOption(defaultValue = ShellOption.NULL) CountDownLatch readerLatch
     ) {
         if (threads <= 0) {
             threads = Runtime.getRuntime().availableProcessors() * 2;
         }
-        runWriters(threads, batchSize, DurationFormat.parseDuration(duration), method, includeJson, readerLatch);
+        runWriters(threads, batchSize, DurationFormat.parseDuration(duration), method, includeJson, pooled,
+                RateFormat.parseRate(rate) / threads, readerLatch);
     }
 
     private void runWriters(
@@ -124,27 +157,43 @@ public class OrderWorkload extends AbstractCommand implements Workload {
             Duration duration,
             String method,
             boolean includeJson,
+            boolean pooled,
+            double workerRate,
             CountDownLatch readerLatch
     ) {
         final int batchSizeNum = Multiplier.parseInt(batchSize);
         final OrderRepository orderRepository = getOrderRepositoryUsing(method);
+        final boolean copy = "copy".equalsIgnoreCase(method);
+        final KeyType keyType = KeyType.detect(new JdbcTemplate(getDataSource()), "orders");
+        final Supplier<UUID> idSupplier = keyType.uuidSupplier();
+        final OrderGenerator orderGenerator = pooled ? new OrderGenerator(1024) : null;
 
         getConsole().successf(">> Starting order writers\n");
         getConsole().infof("Number of write threads: %d", writeThreads);
         getConsole().infof("Batch size: %d", batchSizeNum);
         getConsole().infof("Include JSON payload: %s", includeJson);
+        getConsole().infof("Pooled generator: %s", pooled);
         getConsole().infof("Runtime duration: %s", duration);
         getConsole().infof("Data access method: %s", method);
+        getConsole().infof("Key type: %s", keyType);
+        getConsole().infof("Target rate: %s", workerRate > 0
+                ? String.format("%.1f/s per thread", workerRate) : "unbounded");
 
         IntStream.rangeClosed(1, writeThreads).forEach(value -> {
             getExecutorTemplate().submit("order writer #" + value + " (batch size " + batchSize + ")",
                     () -> {
-                        List<Order> orderBatch = OrderEntities.generateOrderEntities(batchSizeNum);
-                        orderRepository.insertOrders(orderBatch, includeJson);
+                        List<Order> orderBatch = pooled
+                                ? orderGenerator.generate(batchSizeNum, idSupplier, includeJson)
+                                : OrderEntities.generateOrderEntities(batchSizeNum, idSupplier);
+                        if (copy) {
+                            jdbcOrderRepository.copyOrders(orderBatch, includeJson);
+                        } else {
+                            orderRepository.insertOrders(orderBatch, includeJson);
+                        }
                         if (readerLatch != null) {
                             orderBatch.forEach(order -> readerLatch.countDown());
                         }
-                    }, duration);
+                    }, duration, workerRate);
         });
     }
 
@@ -153,10 +202,16 @@ public class OrderWorkload extends AbstractCommand implements Workload {
             int limit,
             Duration duration,
             String method,
-            boolean followerReads
+            ReadConsistency consistency,
+            double workerRate,
+            String distribution
     ) {
         final OrderRepository orderRepository = getOrderRepositoryUsing(method);
 
+        if (consistency.isBoundedStaleness() && orderRepository == jpaOrderRepository) {
+            throw new IllegalArgumentException("Bounded staleness reads require implicit transactions (jdbc)");
+        }
+
         OrderRepository repository = getOrderRepositoryUsing(method);
         Optional<UUID> nextId = repository.findLowestId();
         if (nextId.isEmpty()) {
@@ -171,19 +226,24 @@ public class OrderWorkload extends AbstractCommand implements Workload {
             return;
         }
 
+        final KeyDistribution keyDistribution = KeyDistribution.of(distribution, ids.size());
+
         getConsole().successf(">> Starting order readers\n");
         getConsole().infof("Number of read threads: %d", readThreads);
         getConsole().infof("Runtime duration: %s", duration);
         getConsole().infof("Data access method: %s", method);
-        getConsole().infof("Follower reads: %s", followerReads);
+        getConsole().infof("Read consistency: %s", consistency);
         getConsole().infof("# order IDs: %,d", ids.size());
+        getConsole().infof("Key distribution: %s", keyDistribution);
+        getConsole().infof("Target rate: %s", workerRate > 0
+                ? String.format("%.1f/s per thread", workerRate) : "unbounded");
 
         IntStream.rangeClosed(1, readThreads).forEach(value -> {
             getConsole().successf("Starting read thread #%d across %,d key tuples", value, ids.size());
-            getExecutorTemplate().submit("order reader #" + value, () -> {
-                UUID id = RandomData.selectRandom(ids);
-                orderRepository.readOrder(id, followerReads);
-            }, duration);
+            getExecutorTemplate().submit("order reader #" + value + " [" + consistency + "]", () -> {
+                UUID id = ids.get(keyDistribution.next());
+                orderRepository.readOrder(id, consistency);
+            }, duration, workerRate);
         });
     }
 
@@ -234,11 +294,11 @@ public class OrderWorkload extends AbstractCommand implements Workload {
     }
 
     private OrderRepository getOrderRepositoryUsing(String method) {
-        if ("jdbc".equalsIgnoreCase(method)) {
+        if ("jdbc".equalsIgnoreCase(method) || "copy".equalsIgnoreCase(method)) {
             return jdbcOrderRepository;
         } else if ("jpa".equalsIgnoreCase(method)) {
             return jpaOrderRepository;
         }
-        throw new IllegalArgumentException("Unknown access method (jdbc|jpa): " + method);
+        throw new IllegalArgumentException("Unknown access method (jdbc|jpa|copy): " + method);
     }
 }
@@ -8,6 +8,7 @@ import java.util.Locale;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import io.cockroachdb.workload.common.util.RandomData;
@@ -24,18 +25,20 @@ public class OrderEntities {
     private OrderEntities() {
     }
 
-    private static final ThreadLocalRandom random = ThreadLocalRandom.current();
-
     public static List<Order> generateOrderEntities(int orderCount) {
+        return generateOrderEntities(orderCount, UUID::randomUUID);
+    }
+
+    public static List<Order> generateOrderEntities(int orderCount, Supplier<UUID> idSupplier) {
         final List<Order> orders = new ArrayList<>(orderCount);
 
         final Address a1 = randomAddress();
         final Address a2 = randomAddress();
-        final LocalDate date = LocalDate.now().minusMonths(random.nextInt(3));
+        final LocalDate date = LocalDate.now().minusMonths(ThreadLocalRandom.current().nextInt(3));
 
         IntStream.rangeClosed(1, orderCount).forEach(value -> {
             Order order = new Order();
-            order.setId(UUID.randomUUID());
+            order.setId(idSupplier.get());
             order.setOrderNumber(SEQUENCE.incrementAndGet());
             order.setStatus(RandomData.selectRandom(ShipmentStatus.values()));
             order.setDatePlaced(date);
@@ -0,0 +1,109 @@
+package io.cockroachdb.workload.order.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import io.cockroachdb.workload.common.util.FastUuid;
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.common.util.RandomData;
+
+/**
+ * Order generator drawing from pools of names, addresses, customers and amounts built
+ * once up front, so generating a batch only allocates the order entities themselves.
+ * Unlike {@link OrderEntities}, the customer graph is only attached when the JSON
+ * profile is actually written.
+ */
+public class OrderGenerator {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static final ShipmentStatus[] STATUSES = ShipmentStatus.values();
+
+    private final String[] firstNames;
+
+    private final String[] lastNames;
+
+    private final Address[] addresses;
+
+    private final Customer[] customers;
+
+    private final Money[] amounts;
+
+    private final UUID[] referenceIds;
+
+    private final LocalDate[] dates;
+
+    public OrderGenerator(int poolSize) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be > 0");
+        }
+
+        final Currency currency = Currency.getInstance(Locale.US);
+
+        this.firstNames = IntStream.range(0, poolSize)
+                .mapToObj(i -> RandomData.randomFirstName()).toArray(String[]::new);
+        this.lastNames = IntStream.range(0, poolSize)
+                .mapToObj(i -> RandomData.randomLastName()).toArray(String[]::new);
+        this.addresses = IntStream.range(0, poolSize)
+                .mapToObj(i -> OrderEntities.randomAddress()).toArray(Address[]::new);
+        this.customers = IntStream.range(0, poolSize)
+                .mapToObj(i -> OrderEntities.randomCustomer()).toArray(Customer[]::new);
+        this.amounts = IntStream.range(0, poolSize)
+                .mapToObj(i -> RandomData.randomMoneyBetween(50.00, 10_000.00, currency)).toArray(Money[]::new);
+        this.referenceIds = IntStream.range(0, 100)
+                .mapToObj(i -> FastUuid.random()).toArray(UUID[]::new);
+        this.dates = IntStream.range(0, 3)
+                .mapToObj(i -> LocalDate.now().minusMonths(i)).toArray(LocalDate[]::new);
+    }
+
+    public List<Order> generate(int orderCount, Supplier<UUID> idSupplier, boolean includeCustomer) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<Order> orders = new ArrayList<>(orderCount);
+
+        final Address billAddress = pick(addresses, random);
+        final Address deliveryAddress = pick(addresses, random);
+        final LocalDate date = pick(dates, random);
+
+        for (int i = 0; i < orderCount; i++) {
+            Order order = new Order();
+            order.setId(idSupplier.get());
+            order.setOrderNumber(SEQUENCE.incrementAndGet());
+            order.setStatus(pick(STATUSES, random));
+            order.setDatePlaced(date);
+            order.setDateUpdated(date);
+            order.setCustomerId(pick(referenceIds, random));
+            order.setPaymentMethod(pick(referenceIds, random));
+            order.setTotalPrice(pick(amounts, random));
+
+            String fn = pick(firstNames, random);
+            String ln = pick(lastNames, random);
+
+            order.setDeliverToFirstName(fn);
+            order.setDeliverToLastName(ln);
+            order.setDeliveryAddress(deliveryAddress);
+
+            order.setBillToFirstName(fn);
+            order.setBillToLastName(ln);
+            order.setBillAddress(billAddress);
+
+            if (includeCustomer) {
+                order.setCustomer(pick(customers, random));
+            }
+
+            orders.add(order);
+        }
+
+        return orders;
+    }
+
+    private static <T> T pick(T[] pool, ThreadLocalRandom random) {
+        return pool[random.nextInt(pool.length)];
+    }
+}
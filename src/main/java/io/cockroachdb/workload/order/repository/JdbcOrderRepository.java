@@ -11,43 +11,120 @@ import java.util.function.Consumer;
 
 import javax.sql.DataSource;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.jdbc.JdbcUpdateAffectedIncorrectNumberOfRowsException;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
-import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import io.cockroachdb.workload.Profiles;
-import io.cockroachdb.workload.common.util.Money;
-import io.cockroachdb.workload.order.model.Address;
-import io.cockroachdb.workload.order.model.Country;
+import io.cockroachdb.workload.common.CopyTemplate;
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.order.model.Customer;
 import io.cockroachdb.workload.order.model.Order;
-import io.cockroachdb.workload.order.model.ShipmentStatus;
 import jakarta.persistence.Table;
 
 @Repository
 @Profiles.Order
 public class JdbcOrderRepository implements OrderRepository {
+    private static final OrderRowMapper ORDER_ROW_MAPPER = new OrderRowMapper();
+
     private final JdbcTemplate jdbcTemplate;
 
-    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final CopyTemplate copyTemplate;
+
+    private final ObjectWriter customerWriter;
+
+    private final Cache<UUID, String> jsonTextCache;
+
+    private final Cache<UUID, byte[]> jsonBytesCache;
+
+    private final String tableName;
+
+    private final String readOrderSql;
+
+    private final String readOrderFromSql;
+
+    private final String findLowestIdSql;
 
-    private final ObjectMapper objectMapper;
+    private final String findOrdersSql;
 
-    public JdbcOrderRepository(DataSource dataSource, ObjectMapper objectMapper) {
+    private final String findOrderIdsSql;
+
+    public JdbcOrderRepository(DataSource dataSource,
+                               ObjectMapper objectMapper,
+                               @Value("${cockroachdb.workload.order.json-cache-size}") int jsonCacheSize) {
         this.jdbcTemplate = new JdbcTemplate(dataSource);
-        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
-        this.objectMapper = objectMapper;
+        this.copyTemplate = new CopyTemplate(dataSource);
+        this.customerWriter = objectMapper.writerFor(Customer.class);
+        this.jsonTextCache = jsonCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(jsonCacheSize).build()
+                : null;
+        this.jsonBytesCache = jsonCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(jsonCacheSize).build()
+                : null;
+
+        // Read statements are fixed so the driver can reuse server-side prepared statements
+        this.tableName = resolveTableName();
+        this.readOrderSql = "SELECT " + OrderRowMapper.COLUMN_LIST + " FROM " + tableName
+                + " WHERE id=?";
+        this.readOrderFromSql = "SELECT " + OrderRowMapper.COLUMN_LIST + " FROM " + tableName + " ";
+        this.findLowestIdSql = "SELECT min(id) FROM " + tableName
+                + " AS OF SYSTEM TIME follower_read_timestamp()";
+        this.findOrdersSql = "SELECT " + OrderRowMapper.COLUMN_LIST + " FROM " + tableName
+                + " AS OF SYSTEM TIME follower_read_timestamp() WHERE id > ? ORDER BY id LIMIT ?";
+        this.findOrderIdsSql = "SELECT id FROM " + tableName
+                + " AS OF SYSTEM TIME follower_read_timestamp() WHERE id > ? ORDER BY id LIMIT ?";
+    }
+
+    /**
+     * Serialize a customer profile as text for parameter binding, or return the cached
+     * rendering. The cache is bounded and only pays off for the fixed customer pools of
+     * the pooled generator.
+     */
+    private String customerJsonText(Customer customer) throws SQLException {
+        UUID key = customer.getId();
+        String json = jsonTextCache != null && key != null ? jsonTextCache.getIfPresent(key) : null;
+        if (json == null) {
+            try {
+                json = customerWriter.writeValueAsString(customer);
+            } catch (JsonProcessingException e) {
+                throw new SQLException("Error serializing json", e);
+            }
+            if (jsonTextCache != null && key != null) {
+                jsonTextCache.put(key, json);
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Serialize a customer profile as UTF-8 for COPY, or return the cached rendering.
+     */
+    private byte[] customerJsonBytes(Customer customer) throws SQLException {
+        UUID key = customer.getId();
+        byte[] json = jsonBytesCache != null && key != null ? jsonBytesCache.getIfPresent(key) : null;
+        if (json == null) {
+            try {
+                json = customerWriter.writeValueAsBytes(customer);
+            } catch (JsonProcessingException e) {
+                throw new SQLException("Error serializing json", e);
+            }
+            if (jsonBytesCache != null && key != null) {
+                jsonBytesCache.put(key, json);
+            }
+        }
+        return json;
     }
 
-    private String findTableName() {
+    private static String resolveTableName() {
         Table t = AnnotationUtils.findAnnotation(Order.class, Table.class);
         if (t == null) {
             throw new IllegalArgumentException("No @Table annotation found for: " + Order.class.getName());
@@ -61,8 +138,6 @@ public class JdbcOrderRepository implements OrderRepository {
             return;
         }
 
-        String tableName = findTableName();
-
         final String query = "INSERT INTO " + tableName + " ("
                 + "id,"
                 + "order_number,"
@@ -121,13 +196,7 @@ public class JdbcOrderRepository implements OrderRepository {
 
                 Customer customer = order.getCustomer();
                 if (customer != null && includeJson) {
-                    try {
-                        ps.setObject(i++,
-                                objectMapper.writer().writeValueAsString(customer),
-                                java.sql.Types.OTHER);
-                    } catch (JsonProcessingException e) {
-                        throw new SQLException("Error serializing json", e);
-                    }
+                    ps.setObject(i++, customerJsonText(customer), Types.OTHER);
                 } else {
                     ps.setNull(i++, Types.NULL);
                 }
@@ -146,114 +215,97 @@ public class JdbcOrderRepository implements OrderRepository {
         });
     }
 
+    /**
+     * Insert orders using COPY rather than batch inserts.
+     */
+    public void copyOrders(List<Order> orders, boolean includeJson) {
+        if (orders.isEmpty()) {
+            return;
+        }
+
+        copyTemplate.copyIn(tableName, List.of(
+                        "id",
+                        "order_number",
+                        "bill_address1",
+                        "bill_address2",
+                        "bill_city",
+                        "bill_country_name",
+                        "bill_postcode",
+                        "bill_to_first_name",
+                        "bill_to_last_name",
+                        "deliv_to_first_name",
+                        "deliv_to_last_name",
+                        "deliv_address1",
+                        "deliv_address2",
+                        "deliv_city",
+                        "deliv_country_name",
+                        "deliv_postcode",
+                        "status",
+                        "amount",
+                        "currency",
+                        "customer_id",
+                        "payment_method_id",
+                        "date_placed",
+                        "date_updated",
+                        "customer_profile"),
+                orders.size(),
+                (encoder, row) -> {
+                    Order order = orders.get(row);
+                    encoder.write(order.getId())
+                            .write(order.getOrderNumber())
+                            .write(order.getBillAddress().getAddress1())
+                            .write(order.getBillAddress().getAddress2())
+                            .write(order.getBillAddress().getCity())
+                            .write(order.getBillAddress().getCountry().getCode())
+                            .write(order.getBillAddress().getPostcode())
+                            .write(order.getBillToFirstName())
+                            .write(order.getBillToLastName())
+                            .write(order.getDeliverToFirstName())
+                            .write(order.getDeliverToLastName())
+                            .write(order.getDeliveryAddress().getAddress1())
+                            .write(order.getDeliveryAddress().getAddress2())
+                            .write(order.getDeliveryAddress().getCity())
+                            .write(order.getDeliveryAddress().getCountry().getCode())
+                            .write(order.getDeliveryAddress().getPostcode())
+                            .write(order.getStatus().name())
+                            .write(order.getTotalPrice().getAmount())
+                            .write(order.getTotalPrice().getCurrency().getCurrencyCode())
+                            .write(order.getCustomerId())
+                            .write(order.getPaymentMethod())
+                            .write(order.getDatePlaced())
+                            .write(order.getDateUpdated());
+
+                    Customer customer = order.getCustomer();
+                    if (customer != null && includeJson) {
+                        byte[] json = customerJsonBytes(customer);
+                        encoder.writeQuoted(json, 0, json.length);
+                    } else {
+                        encoder.writeNull();
+                    }
+                });
+    }
 
     @Override
-    public Optional<Order> readOrder(UUID id, boolean followerReads) {
-        String tableName = findTableName();
-
-        MapSqlParameterSource parameters = new MapSqlParameterSource();
-        parameters.addValue("id", id);
-
-        if (followerReads) {
-            return Optional.ofNullable(namedParameterJdbcTemplate
-                    .queryForObject("SELECT * FROM " + tableName + " AS OF SYSTEM TIME follower_read_timestamp() "
-                                    + "WHERE id=:id",
-                            parameters,
-                            orderMapper()
-                    ));
-        } else {
-            return Optional.ofNullable(namedParameterJdbcTemplate
-                    .queryForObject("SELECT * FROM " + tableName + " "
-                                    + "WHERE id=:id",
-                            parameters,
-                            orderMapper()
-                    ));
-        }
+    public Optional<Order> readOrder(UUID id, ReadConsistency consistency) {
+        List<Order> orders = jdbcTemplate.query(consistency.isStrong()
+                        ? readOrderSql
+                        : readOrderFromSql + consistency.asOfSystemTimeClause() + " WHERE id=?",
+                ORDER_ROW_MAPPER, id);
+        return orders.isEmpty() ? Optional.empty() : Optional.of(orders.get(0));
     }
 
     @Override
     public Optional<UUID> findLowestId() {
-        String tableName = findTableName();
-        MapSqlParameterSource parameters = new MapSqlParameterSource();
-        return Optional.ofNullable(namedParameterJdbcTemplate
-                .queryForObject("SELECT min(id) FROM " + tableName
-                                + " AS OF SYSTEM TIME follower_read_timestamp()",
-                        parameters,
-                        UUID.class
-                ));
+        return Optional.ofNullable(jdbcTemplate.queryForObject(findLowestIdSql, UUID.class));
     }
 
     @Override
     public List<Order> findOrders(UUID fromId, int pageSize) {
-        String tableName = findTableName();
-
-        MapSqlParameterSource parameters = new MapSqlParameterSource();
-        parameters.addValue("fromId", fromId);
-        parameters.addValue("limit", pageSize);
-
-        return namedParameterJdbcTemplate
-                .query("SELECT * FROM " + tableName
-                                + " AS OF SYSTEM TIME follower_read_timestamp()"
-                                + " WHERE id > :fromId"
-                                + " ORDER BY id "
-                                + " LIMIT :limit",
-                        parameters,
-                        orderMapper());
+        return jdbcTemplate.query(findOrdersSql, ORDER_ROW_MAPPER, fromId, pageSize);
     }
 
     @Override
     public List<UUID> findOrderIDs(UUID fromId, int pageSize) {
-        String tableName = findTableName();
-
-        MapSqlParameterSource parameters = new MapSqlParameterSource();
-        parameters.addValue("fromId", fromId);
-        parameters.addValue("limit", pageSize);
-
-        return namedParameterJdbcTemplate
-                .queryForList("SELECT id FROM " + tableName
-                                + " AS OF SYSTEM TIME follower_read_timestamp()"
-                                + " WHERE id > :fromId"
-                                + " ORDER BY id "
-                                + " LIMIT :limit",
-                        parameters,
-                        UUID.class);
-    }
-
-    private RowMapper<Order> orderMapper() {
-        return (rs, rowNum) -> {
-            UUID uuid = rs.getObject("id", UUID.class);
-
-            Order order = new Order();
-            order.setId(uuid);
-
-            order.setOrderNumber(rs.getInt("order_number"));
-            order.setStatus(ShipmentStatus.valueOf(rs.getString("status")));
-            order.setDatePlaced(rs.getDate("date_placed").toLocalDate());
-            order.setDateUpdated(rs.getDate("date_updated").toLocalDate());
-            order.setCustomerId(rs.getObject("customer_id", UUID.class));
-            order.setPaymentMethod(rs.getObject("payment_method_id", UUID.class));
-
-            order.setDeliverToFirstName(rs.getString("deliv_to_first_name"));
-            order.setDeliverToLastName(rs.getString("deliv_to_last_name"));
-            order.setDeliveryAddress((Address.builder()
-                    .setAddress1(rs.getString("bill_address1"))
-                    .setAddress2(rs.getString("bill_address1"))
-                    .setCity(rs.getString("bill_city"))
-                    .setCountry(new Country(rs.getString("bill_country_code"), rs.getString("bill_country_name")))
-                    .setPostcode(rs.getString("bill_postcode")).build()));
-
-            order.setBillToFirstName(rs.getString(6));
-            order.setBillToLastName(rs.getString(6));
-            order.setBillAddress(Address.builder()
-                    .setAddress1(rs.getString("deliv_address1"))
-                    .setAddress2(rs.getString("deliv_address2"))
-                    .setCity(rs.getString("deliv_city"))
-                    .setCountry(new Country(rs.getString("deliv_country_code"), rs.getString("deliv_country_name")))
-                    .setPostcode(rs.getString("deliv_postcode")).build());
-
-            order.setTotalPrice(Money.of(rs.getString("amount"), rs.getString("currency")));
-
-            return order;
-        };
+        return jdbcTemplate.queryForList(findOrderIdsSql, UUID.class, fromId, pageSize);
     }
 }
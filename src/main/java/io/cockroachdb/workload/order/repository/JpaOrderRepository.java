@@ -10,6 +10,7 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.order.model.Order;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -38,9 +39,13 @@ public class JpaOrderRepository implements OrderRepository {
     }
 
     @Override
-    public Optional<Order> readOrder(UUID id, boolean followerReads) {
-        if (followerReads) {
-            em.createNativeQuery("SET TRANSACTION AS OF SYSTEM TIME follower_read_timestamp()").executeUpdate();
+    public Optional<Order> readOrder(UUID id, ReadConsistency consistency) {
+        if (consistency.isBoundedStaleness()) {
+            throw new IllegalArgumentException("Bounded staleness reads require implicit transactions (jdbc)");
+        }
+        if (!consistency.isStrong()) {
+            em.createNativeQuery("SET TRANSACTION AS OF SYSTEM TIME " + consistency.getAsOfSystemTime())
+                    .executeUpdate();
         }
         return em
                 .createQuery("select o from Order o where o.id = :id", Order.class)
@@ -4,12 +4,13 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import io.cockroachdb.workload.common.ReadConsistency;
 import io.cockroachdb.workload.order.model.Order;
 
 public interface OrderRepository {
     void insertOrders(List<Order> orders, boolean includeJson);
 
-    Optional<Order> readOrder(UUID id, boolean followerReads);
+    Optional<Order> readOrder(UUID id, ReadConsistency consistency);
 
     Optional<UUID> findLowestId();
 
@@ -0,0 +1,131 @@
+package io.cockroachdb.workload.order.repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import io.cockroachdb.workload.common.util.Money;
+import io.cockroachdb.workload.order.model.Address;
+import io.cockroachdb.workload.order.model.Country;
+import io.cockroachdb.workload.order.model.Order;
+import io.cockroachdb.workload.order.model.ShipmentStatus;
+
+/**
+ * Maps order rows by column index rather than by name. Queries must select
+ * {@link #COLUMNS} in the declared order, which is what the column index
+ * constants are derived from.
+ */
+public class OrderRowMapper implements RowMapper<Order> {
+    public static final List<String> COLUMNS = List.of(
+            "id",
+            "order_number",
+            "status",
+            "date_placed",
+            "date_updated",
+            "customer_id",
+            "payment_method_id",
+            "bill_to_first_name",
+            "bill_to_last_name",
+            "bill_address1",
+            "bill_address2",
+            "bill_city",
+            "bill_country_code",
+            "bill_country_name",
+            "bill_postcode",
+            "deliv_to_first_name",
+            "deliv_to_last_name",
+            "deliv_address1",
+            "deliv_address2",
+            "deliv_city",
+            "deliv_country_code",
+            "deliv_country_name",
+            "deliv_postcode",
+            "amount",
+            "currency");
+
+    public static final String COLUMN_LIST = String.join(",", COLUMNS);
+
+    private static final int ID = index("id");
+
+    private static final int ORDER_NUMBER = index("order_number");
+
+    private static final int STATUS = index("status");
+
+    private static final int DATE_PLACED = index("date_placed");
+
+    private static final int DATE_UPDATED = index("date_updated");
+
+    private static final int CUSTOMER_ID = index("customer_id");
+
+    private static final int PAYMENT_METHOD_ID = index("payment_method_id");
+
+    private static final int BILL_TO_FIRST_NAME = index("bill_to_first_name");
+
+    private static final int BILL_TO_LAST_NAME = index("bill_to_last_name");
+
+    private static final int BILL_ADDRESS = index("bill_address1");
+
+    private static final int DELIV_TO_FIRST_NAME = index("deliv_to_first_name");
+
+    private static final int DELIV_TO_LAST_NAME = index("deliv_to_last_name");
+
+    private static final int DELIV_ADDRESS = index("deliv_address1");
+
+    private static final int AMOUNT = index("amount");
+
+    private static final int CURRENCY = index("currency");
+
+    private static int index(String column) {
+        int i = COLUMNS.indexOf(column);
+        if (i < 0) {
+            throw new IllegalStateException("No such column: " + column);
+        }
+        return i + 1;
+    }
+
+    @Override
+    public Order mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Order order = new Order();
+        order.setId(rs.getObject(ID, UUID.class));
+        order.setOrderNumber(rs.getInt(ORDER_NUMBER));
+        order.setStatus(ShipmentStatus.valueOf(rs.getString(STATUS)));
+        order.setDatePlaced(toLocalDate(rs.getDate(DATE_PLACED)));
+        order.setDateUpdated(toLocalDate(rs.getDate(DATE_UPDATED)));
+        order.setCustomerId(rs.getObject(CUSTOMER_ID, UUID.class));
+        order.setPaymentMethod(rs.getObject(PAYMENT_METHOD_ID, UUID.class));
+
+        order.setBillToFirstName(rs.getString(BILL_TO_FIRST_NAME));
+        order.setBillToLastName(rs.getString(BILL_TO_LAST_NAME));
+        order.setBillAddress(mapAddress(rs, BILL_ADDRESS));
+
+        order.setDeliverToFirstName(rs.getString(DELIV_TO_FIRST_NAME));
+        order.setDeliverToLastName(rs.getString(DELIV_TO_LAST_NAME));
+        order.setDeliveryAddress(mapAddress(rs, DELIV_ADDRESS));
+
+        order.setTotalPrice(Money.of(rs.getString(AMOUNT), rs.getString(CURRENCY)));
+
+        return order;
+    }
+
+    /**
+     * Address columns are laid out as address1, address2, city, country code,
+     * country name and postcode.
+     */
+    private static Address mapAddress(ResultSet rs, int offset) throws SQLException {
+        return Address.builder()
+                .setAddress1(rs.getString(offset))
+                .setAddress2(rs.getString(offset + 1))
+                .setCity(rs.getString(offset + 2))
+                .setCountry(new Country(rs.getString(offset + 3), rs.getString(offset + 4)))
+                .setPostcode(rs.getString(offset + 5))
+                .build();
+    }
+
+    private static java.time.LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+}
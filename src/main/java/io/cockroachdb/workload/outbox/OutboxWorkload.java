@@ -1,18 +1,21 @@
 package io.cockroachdb.workload.outbox;
 
-import java.io.IOException;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.EncodedResource;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.shell.standard.ShellCommandGroup;
@@ -20,12 +23,18 @@ import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellMethodAvailability;
 import org.springframework.shell.standard.ShellOption;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import io.cockroachdb.workload.Profiles;
+import io.cockroachdb.workload.common.CallMetrics;
+import io.cockroachdb.workload.common.CopyTemplate;
+import io.cockroachdb.workload.common.KeyType;
 import io.cockroachdb.workload.common.command.AbstractCommand;
 import io.cockroachdb.workload.common.command.Workload;
 import io.cockroachdb.workload.common.util.DurationFormat;
 import io.cockroachdb.workload.common.util.Multiplier;
+import io.cockroachdb.workload.common.util.RateFormat;
 
 @Profiles.Outbox
 @ShellComponent
@@ -34,6 +43,12 @@ public class OutboxWorkload extends AbstractCommand implements Workload {
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CallMetrics callMetrics;
+
     @Override
     public String prompt() {
         return "outbox:$ ";
@@ -42,14 +57,19 @@ public class OutboxWorkload extends AbstractCommand implements Workload {
     @ShellMethod(value = "Initialize outbox workload")
     public void init(
             @ShellOption(help = "number of partitions (tables)", defaultValue = "1") int partitions,
-            @ShellOption(help = "drop and create schema", defaultValue = "false") boolean drop) {
+            @ShellOption(help = "drop and create schema", defaultValue = "false") boolean drop,
+            @ShellOption(help = "primary key type (uuid|uuidv7|rowid)", defaultValue = "uuid") String keyType,
+            @ShellOption(help = "use hash-sharded primary keys", defaultValue = "false") boolean hashSharded,
+            @ShellOption(help = "add secondary index on create_time", defaultValue = "false") boolean secondaryIndex) {
+        final KeyType type = KeyType.of(keyType);
         SchemaSupport schemaSupport = new SchemaSupport(getDataSource());
         if (drop) {
             getConsole().successf("Dropping %d tables\n", partitions);
             schemaSupport.dropSchema(partitions);
         }
-        getConsole().successf("Creating %d tables\n", partitions);
-        schemaSupport.createSchema(partitions);
+        getConsole().successf("Creating %d tables with %s%s keys%s\n", partitions,
+                hashSharded ? "hash-sharded " : "", type, secondaryIndex ? " and secondary index" : "");
+        schemaSupport.createSchema(partitions, type, hashSharded, secondaryIndex);
         onPostInit();
     }
 
@@ -61,54 +81,193 @@ public class OutboxWorkload extends AbstractCommand implements Workload {
             @ShellOption(help = "execution duration (expression)", defaultValue = "30m") String duration,
             @ShellOption(help = "batch size", defaultValue = "64") String batchSize,
             @ShellOption(help = "dry run", defaultValue = "false") boolean dryRun,
-            @ShellOption(help = "JSON payload size (1k|5k|10k|15k|100k)", defaultValue = "1k") String payload
+            @ShellOption(help = "JSON payload size (1k|5k|10k|15k|100k, or any size with --random-payload)",
+                    defaultValue = "1k") String payload,
+            @ShellOption(help = "number of distinct payload variants", defaultValue = "16") int variants,
+            @ShellOption(help = "synthesize random JSON payloads rather than using payload files",
+                    defaultValue = "false") boolean randomPayload,
+            @ShellOption(help = "use COPY rather than batch inserts", defaultValue = "false") boolean copy,
+            @ShellOption(help = "target (batch) rate across all threads, e.g. 100/s (default unbounded closed loop)", defaultValue = "0") String rate
     ) {
         final String payloadPath = "db/outbox/payload-" + payload + ".json";
 
-        if (!new ClassPathResource(payloadPath).exists()) {
+        if (!randomPayload && !new ClassPathResource(payloadPath).exists()) {
             getConsole().errorf("Invalid payload (not found): %s", payloadPath);
             return;
         }
 
+        final PayloadPool payloadPool = randomPayload
+                ? PayloadPool.randomized(Multiplier.parseInt(payload), variants)
+                : PayloadPool.fromResource(payloadPath, variants);
+
         final int numThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
 
         int batchSizeNum = Multiplier.parseInt(batchSize);
         Duration runtimeDuration = DurationFormat.parseDuration(duration);
+        double workerRate = RateFormat.parseRate(rate) / (numThreads * partitions);
 
         getConsole().success(">> Starting outbox workload <<\n");
         getConsole().infof("Number of threads: %d\n", numThreads);
         getConsole().infof("Number of partitions: %d\n", partitions);
         getConsole().infof("Runtime duration: %s\n", duration);
         getConsole().infof("Batch size: %d\n", batchSizeNum);
-        getConsole().infof("Payload file: %s\n", payloadPath);
+        getConsole().infof("Payload: %s\n", randomPayload ? "random " + payload : payloadPath);
+        getConsole().infof("Payload variants: %d (%,d bytes off-heap)\n", payloadPool.size(),
+                payloadPool.totalBytes());
+        getConsole().infof("Ingestion method: %s\n", copy ? "COPY" : "batch insert");
+        getConsole().infof("Target rate: %s\n", workerRate > 0
+                ? String.format("%.1f/s per thread", workerRate) : "unbounded");
+
+        final CopyTemplate copyTemplate = new CopyTemplate(getDataSource());
+        final SchemaSupport schemaSupport = new SchemaSupport(getDataSource());
 
         IntStream.rangeClosed(1, partitions).forEach(p -> {
+            KeyType keyType = schemaSupport.detectKeyType(p);
+            getConsole().infof("Partition %d key type: %s\n", p, keyType);
+
+            // Only client-generated keys are bound, otherwise the column default applies
+            final Supplier<UUID> idSupplier = keyType.isClientGenerated() ? keyType.uuidSupplier() : null;
+
             IntStream.rangeClosed(1, numThreads).forEach(t -> {
                 if (!dryRun) {
                     getExecutorTemplate().submit(
                             "partition #" + p + " thread " + t + " (" + payload + ")",
-                            () -> submitBatch(p, batchSizeNum, payloadPath),
-                            runtimeDuration);
+                            copy
+                                    ? () -> copyBatch(copyTemplate, p, batchSizeNum, payloadPool, idSupplier)
+                                    : () -> submitBatch(p, batchSizeNum, payloadPool, idSupplier),
+                            runtimeDuration, workerRate);
                 }
             });
         });
     }
 
-    private void submitBatch(int partition, int batchSize, String payloadPath) {
-        jdbcTemplate.batchUpdate(String.format("INSERT INTO outbox_%d (aggregate_type,aggregate_id,event_type,payload) "
-                        + "VALUES (?,?,?,?)", partition),
+    @ShellMethodAvailability("initCheck")
+    @ShellMethod(value = "Run outbox consumers")
+    public void consume(
+            @ShellOption(help = "number of consumer threads per partition", defaultValue = "-1") int threads,
+            @ShellOption(help = "number of partitions (tables)", defaultValue = "1") int partitions,
+            @ShellOption(help = "execution duration (expression)", defaultValue = "30m") String duration,
+            @ShellOption(help = "max number of events claimed per transaction", defaultValue = "64") String batchSize,
+            @ShellOption(help = "wait time in millis when no events are available", defaultValue = "100") int idleWait,
+            @ShellOption(help = "keep the row-level TTL, which silently expires events not consumed within "
+                    + "5 minutes and caps the measured lag", defaultValue = "false") boolean keepTtl
+    ) {
+        final int numThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        final int batchSizeNum = Multiplier.parseInt(batchSize);
+        final Duration runtimeDuration = DurationFormat.parseDuration(duration);
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        getConsole().success(">> Starting outbox consumers <<\n");
+        getConsole().infof("Number of threads: %d\n", numThreads);
+        getConsole().infof("Number of partitions: %d\n", partitions);
+        getConsole().infof("Runtime duration: %s\n", duration);
+        getConsole().infof("Batch size: %d\n", batchSizeNum);
+
+        final SchemaSupport schemaSupport = new SchemaSupport(getDataSource());
+
+        IntStream.rangeClosed(1, partitions).forEach(p -> {
+            if (!keepTtl) {
+                getConsole().infof("Resetting row-level TTL on outbox_%d so events are only deleted "
+                        + "when consumed\n", p);
+                schemaSupport.resetTtl(p);
+            } else {
+                getConsole().warnf("Row-level TTL kept on outbox_%d - events older than the TTL expire unconsumed "
+                        + "and are missing from the lag\n", p);
+            }
+
+            // Oldest-first claims need the create_time index, otherwise each poll scans and sorts the partition
+            final boolean ordered = schemaSupport.hasCreateTimeIndex(p);
+            if (!ordered) {
+                getConsole().warnf("No create_time index on outbox_%d - claiming events unordered "
+                        + "(init with --secondary-index for oldest-first claims)\n", p);
+            }
+
+            // Consumers of a partition share one worker id, which the executor counts down as they exit
+            final String consumerId = "partition #" + p + " consumers";
+            final CallMetrics.Context lagContext = callMetrics.of("partition #" + p + " event lag",
+                    () -> getExecutorTemplate().activeWorkers(consumerId));
+
+            IntStream.rangeClosed(1, numThreads).forEach(t -> {
+                getExecutorTemplate().submit(consumerId,
+                        () -> {
+                            if (consumeBatch(transactionTemplate, p, batchSizeNum, ordered, lagContext) == 0) {
+                                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(idleWait));
+                            }
+                        },
+                        runtimeDuration);
+            });
+        });
+    }
+
+    /**
+     * Claim, process and delete a batch of events in one transaction, skipping rows locked by
+     * competing consumers. Events are claimed oldest first if ordered, which requires an index
+     * on create_time, or else in whatever order the scan yields them. Event lag is measured from
+     * the event create time to commit, using the server clock up to the claim and the client
+     * clock from the claim to commit. Lag is only recorded for claimed events, so idle polls do
+     * not count towards it.
+     *
+     * @return number of consumed events
+     */
+    private int consumeBatch(TransactionTemplate transactionTemplate, int partition, int batchSize,
+                             boolean ordered, CallMetrics.Context lagContext) {
+        final List<Long> claimLags = new ArrayList<>(batchSize);
+
+        final long[] claimTime = new long[1];
+
+        Integer consumed = transactionTemplate.execute(status -> {
+            List<Object> ids = new ArrayList<>(batchSize);
+
+            jdbcTemplate.query(String.format("SELECT id, create_time, clock_timestamp(), payload "
+                            + "FROM outbox_%d %s LIMIT ? FOR UPDATE SKIP LOCKED",
+                            partition, ordered ? "ORDER BY create_time" : ""),
+                    rs -> {
+                        ids.add(rs.getObject(1));
+                        Timestamp createTime = rs.getTimestamp(2);
+                        Timestamp now = rs.getTimestamp(3);
+                        claimLags.add(Duration.between(createTime.toInstant(), now.toInstant()).toNanos());
+                        // Processing is limited to reading the payload
+                        rs.getString(4);
+                    },
+                    batchSize);
+
+            claimTime[0] = System.nanoTime();
+
+            if (!ids.isEmpty()) {
+                jdbcTemplate.update(String.format("DELETE FROM outbox_%d WHERE id = ANY(?)", partition),
+                        ps -> ps.setArray(1, ps.getConnection().createArrayOf(
+                                ids.get(0) instanceof UUID ? "UUID" : "INT8", ids.toArray())));
+            }
+
+            return ids.size();
+        });
+
+        if (consumed == null || consumed == 0) {
+            return 0;
+        }
+
+        long processingNanos = System.nanoTime() - claimTime[0];
+        claimLags.forEach(lag -> lagContext.record(lag + processingNanos));
+
+        return consumed;
+    }
+
+    private void submitBatch(int partition, int batchSize, PayloadPool payloadPool, Supplier<UUID> idSupplier) {
+        final String sql = idSupplier != null
+                ? "INSERT INTO outbox_%d (aggregate_type,aggregate_id,event_type,payload,id) VALUES (?,?,?,?,?)"
+                : "INSERT INTO outbox_%d (aggregate_type,aggregate_id,event_type,payload) VALUES (?,?,?,?)";
+
+        jdbcTemplate.batchUpdate(String.format(sql, partition),
                 new BatchPreparedStatementSetter() {
                     @Override
                     public void setValues(PreparedStatement ps, int i) throws SQLException {
-                        OutboxEvent outboxEvent = newOutboxEvent(payloadPath);
+                        OutboxEvent outboxEvent = newOutboxEvent();
                         ps.setString(1, outboxEvent.getAggregateType());
                         ps.setString(2, outboxEvent.getAggregateId());
                         ps.setString(3, outboxEvent.getEventType());
-                        try {
-                            ps.setCharacterStream(4, new EncodedResource(
-                                    new ClassPathResource(outboxEvent.getPayload())).getReader());
-                        } catch (IOException e) {
-                            throw new SQLException(e);
+                        ps.setObject(4, payloadPool.getPayload(payloadPool.nextVariant()), Types.OTHER);
+                        if (idSupplier != null) {
+                            ps.setObject(5, idSupplier.get());
                         }
                     }
 
@@ -119,12 +278,30 @@ public class OutboxWorkload extends AbstractCommand implements Workload {
                 });
     }
 
-    private OutboxEvent newOutboxEvent(String payloadPath) {
+    private void copyBatch(CopyTemplate copyTemplate, int partition, int batchSize, PayloadPool payloadPool,
+                           Supplier<UUID> idSupplier) {
+        copyTemplate.copyIn("outbox_" + partition,
+                idSupplier != null
+                        ? List.of("aggregate_type", "aggregate_id", "event_type", "payload", "id")
+                        : List.of("aggregate_type", "aggregate_id", "event_type", "payload"),
+                batchSize,
+                (encoder, row) -> {
+                    OutboxEvent outboxEvent = newOutboxEvent();
+                    encoder.write(outboxEvent.getAggregateType())
+                            .write(outboxEvent.getAggregateId())
+                            .write(outboxEvent.getEventType());
+                    payloadPool.writeTo(encoder, payloadPool.nextVariant());
+                    if (idSupplier != null) {
+                        encoder.write(idSupplier.get());
+                    }
+                });
+    }
+
+    private OutboxEvent newOutboxEvent() {
         OutboxEvent outboxEvent = new OutboxEvent();
         outboxEvent.setAggregateId(UUID.randomUUID().toString());
         outboxEvent.setEventType("random_event");
         outboxEvent.setAggregateType("random");
-        outboxEvent.setPayload(payloadPath);
         return outboxEvent;
     }
 }
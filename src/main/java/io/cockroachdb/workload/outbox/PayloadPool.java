@@ -0,0 +1,147 @@
+package io.cockroachdb.workload.outbox;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.cockroachdb.workload.common.util.CsvEncoder;
+import io.cockroachdb.workload.common.util.RandomData;
+import io.cockroachdb.workload.common.util.ResourceSupport;
+
+/**
+ * Pool of pre-generated JSON payload variants. Payloads are loaded or synthesized
+ * once, so workers bind them without any per-row resource I/O or allocation. Each
+ * variant is kept both as a string for JDBC parameter binding and as a quoted and
+ * escaped CSV field in a single direct (off-heap) buffer for COPY.
+ * <p>
+ * Variants differ by a random marker or by fully random content, so that JSONB
+ * compression and deduplication don't flatter the results.
+ */
+public class PayloadPool {
+    private static final String ALPHANUMERIC = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    /**
+     * Create variants of a classpath payload file, each tagged with a random marker.
+     */
+    public static PayloadPool fromResource(String path, int variants) {
+        String template = ResourceSupport.resourceAsString(path).trim();
+        List<String> payloads = new ArrayList<>(variants);
+        for (int i = 0; i < variants; i++) {
+            payloads.add(tagVariant(template, i));
+        }
+        return new PayloadPool(payloads);
+    }
+
+    /**
+     * Create variants of fully random JSON documents of roughly the given size in bytes.
+     */
+    public static PayloadPool randomized(int payloadSize, int variants) {
+        List<String> payloads = new ArrayList<>(variants);
+        for (int i = 0; i < variants; i++) {
+            payloads.add(randomJson(payloadSize, i));
+        }
+        return new PayloadPool(payloads);
+    }
+
+    private static String tagVariant(String template, int variant) {
+        String marker = "\"_variant\":\"" + variant + "-" + UUID.randomUUID() + "\"";
+        if (template.startsWith("[")) {
+            return "[{" + marker + "}," + template.substring(1);
+        }
+        if (template.startsWith("{")) {
+            return "{" + marker + "," + template.substring(1);
+        }
+        throw new IllegalArgumentException("Not a JSON object or array payload");
+    }
+
+    private static String randomJson(int payloadSize, int variant) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(payloadSize + 128);
+        sb.append("{\"_variant\":").append(variant)
+                .append(",\"id\":\"").append(UUID.randomUUID()).append("\"")
+                .append(",\"name\":\"").append(RandomData.randomFirstName()).append(' ')
+                .append(RandomData.randomLastName()).append("\"")
+                .append(",\"items\":[");
+        int item = 0;
+        while (sb.length() < payloadSize - 64) {
+            if (item > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"seq\":").append(item++)
+                    .append(",\"amount\":").append(random.nextInt(1_000_000))
+                    .append(",\"code\":\"");
+            int len = random.nextInt(16, 64);
+            for (int i = 0; i < len; i++) {
+                sb.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
+            }
+            sb.append("\"}");
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    private final String[] payloads;
+
+    private final ByteBuffer buffer;
+
+    private final int[] offsets;
+
+    private final int[] lengths;
+
+    private PayloadPool(List<String> payloads) {
+        if (payloads.isEmpty()) {
+            throw new IllegalArgumentException("Payload variants must be > 0");
+        }
+
+        this.payloads = payloads.toArray(new String[0]);
+
+        List<byte[]> encoded = new ArrayList<>(payloads.size());
+        CsvEncoder encoder = new CsvEncoder(1024);
+        for (String payload : payloads) {
+            byte[] utf8 = payload.getBytes(StandardCharsets.UTF_8);
+            encoder.reset();
+            encoder.writeQuoted(utf8, 0, utf8.length);
+            encoded.add(Arrays.copyOf(encoder.getBuffer(), encoder.size()));
+        }
+
+        this.offsets = new int[encoded.size()];
+        this.lengths = new int[encoded.size()];
+        this.buffer = ByteBuffer.allocateDirect(encoded.stream().mapToInt(b -> b.length).sum());
+
+        for (int i = 0; i < encoded.size(); i++) {
+            offsets[i] = buffer.position();
+            lengths[i] = encoded.get(i).length;
+            buffer.put(encoded.get(i));
+        }
+    }
+
+    public int size() {
+        return offsets.length;
+    }
+
+    public int totalBytes() {
+        return buffer.capacity();
+    }
+
+    public int nextVariant() {
+        return offsets.length == 1 ? 0 : ThreadLocalRandom.current().nextInt(offsets.length);
+    }
+
+    /**
+     * Get a payload variant for JDBC parameter binding.
+     */
+    public String getPayload(int variant) {
+        return payloads[variant];
+    }
+
+    /**
+     * Write a payload variant as a quoted CSV field, bulk copying the pre-encoded bytes.
+     */
+    public void writeTo(CsvEncoder encoder, int variant) {
+        encoder.writeEncoded(buffer, offsets[variant], lengths[variant]);
+    }
+}
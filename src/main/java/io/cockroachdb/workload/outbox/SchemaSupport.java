@@ -1,5 +1,6 @@
 package io.cockroachdb.workload.outbox;
 
+import java.util.Map;
 import java.util.stream.IntStream;
 
 import javax.sql.DataSource;
@@ -8,6 +9,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
 import org.springframework.util.PropertyPlaceholderHelper;
 
+import io.cockroachdb.workload.common.KeyType;
 import io.cockroachdb.workload.common.util.ResourceSupport;
 
 public class SchemaSupport {
@@ -36,19 +38,41 @@ public class SchemaSupport {
                 }), dataSource);
     }
 
-    public void createSchema(int partitions) {
+    public void createSchema(int partitions, KeyType keyType, boolean hashSharded, boolean secondaryIndex) {
         final PropertyPlaceholderHelper plh = new PropertyPlaceholderHelper("${", "}");
         DatabasePopulatorUtils.execute(connection -> IntStream.rangeClosed(1, partitions)
                 .forEach(p -> {
+                    Map<String, String> placeholders = keyType.placeholders(hashSharded, secondaryIndex
+                            ? "create index if not exists outbox_" + p + "_create_time_idx on outbox_" + p
+                            + " (create_time);"
+                            : "");
                     String sql = plh
                             .replacePlaceholders(ResourceSupport.resourceAsString("db/outbox/create-outbox.sql"),
                                     placeholderName -> {
                                         if ("partition".equals(placeholderName)) {
                                             return p + "";
                                         }
-                                        return "???";
+                                        return placeholders.getOrDefault(placeholderName, "???");
                                     });
                     jdbcTemplate.execute(sql);
                 }), dataSource);
     }
+
+    public KeyType detectKeyType(int partition) {
+        return KeyType.detect(jdbcTemplate, "outbox_" + partition);
+    }
+
+    public boolean hasCreateTimeIndex(int partition) {
+        Integer count = jdbcTemplate.queryForObject("SELECT count(1) FROM information_schema.statistics "
+                        + "WHERE table_schema = current_schema() AND table_name = ? AND index_name = ?",
+                Integer.class, "outbox_" + partition, "outbox_" + partition + "_create_time_idx");
+        return count != null && count > 0;
+    }
+
+    /**
+     * Remove the row-level TTL so that events are only ever deleted by consumers.
+     */
+    public void resetTtl(int partition) {
+        jdbcTemplate.execute("ALTER TABLE outbox_" + partition + " RESET (ttl)");
+    }
 }
@@ -0,0 +1,4 @@
+-- Opt-in covering index for the ledger verifier (verify --create-index), letting it sum
+-- items per account range without full table scans. Every transfer pays an extra
+-- secondary index write per transaction item while it exists.
+create index if not exists transaction_item_account_id_idx on transaction_item (account_id) storing (amount);
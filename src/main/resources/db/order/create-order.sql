@@ -1,6 +1,6 @@
 create table if not exists orders
 (
-    id                  UUID           not null default gen_random_uuid(),
+    id                  ${id_type}           not null${id_default},
     order_number        integer        not null,
     bill_address1       varchar(255)   null,
     bill_address2       varchar(255)   null,
@@ -27,7 +27,7 @@ create table if not exists orders
     date_placed         date           not null default current_date(),
     customer_profile    jsonb          null,
 
-    primary key (id)
+    ${primary_key}
 );
 
-CREATE INDEX ON orders (id);
\ No newline at end of file
+${secondary_index}
\ No newline at end of file
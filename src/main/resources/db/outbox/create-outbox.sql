@@ -1,15 +1,17 @@
 create table if not exists outbox_${partition}
 (
-    id             uuid        not null default gen_random_uuid(),
+    id             ${id_type}        not null${id_default},
     create_time    timestamptz not null default clock_timestamp(),
     aggregate_type string      not null,
     aggregate_id   string      not null,
     event_type     string      not null,
     payload        jsonb       null,
 
-    primary key (id)
+    ${primary_key}
 );
 
+${secondary_index}
+
 -- https://www.cockroachlabs.com/docs/v22.1/row-level-ttl.html
 
 alter table outbox_${partition} set
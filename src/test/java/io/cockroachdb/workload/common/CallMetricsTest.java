@@ -0,0 +1,114 @@
+package io.cockroachdb.workload.common;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CallMetricsTest {
+    @Test
+    public void whenRecordingFromManyThreads_thenAllCallsAreCounted() throws Exception {
+        CallMetrics callMetrics = new CallMetrics();
+        CallMetrics.Context context = callMetrics.of("test", () -> 4);
+
+        Thread[] threads = IntStream.range(0, 4).mapToObj(t -> new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                context.after(context.before() - TimeUnit.MILLISECONDS.toNanos(i % 100), i % 1000 == 0
+                        ? new RuntimeException() : null);
+            }
+        })).toArray(Thread[]::new);
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CallMetrics.Snapshot snapshot = callMetrics.takeSnapshots().get(0);
+        Assertions.assertEquals(40_000, snapshot.getHistogram().getTotalCount());
+        Assertions.assertEquals(39_960, snapshot.getSuccessfulCalls());
+        Assertions.assertEquals(40, snapshot.getFailedCalls());
+        // Recorded latencies are offsets on top of real elapsed time, so allow for scheduling jitter
+        Assertions.assertTrue(snapshot.getMax() >= 99, "max: " + snapshot.getMax());
+        Assertions.assertEquals(50, snapshot.getPercentile(50), 5);
+    }
+
+    @Test
+    public void whenTakingIntervals_thenOnlyNewCallsAreIncluded() {
+        CallMetrics callMetrics = new CallMetrics();
+        CallMetrics.Context context = callMetrics.of("test", () -> 1);
+
+        Map<String, CallMetrics.Snapshot> previous = new HashMap<>();
+
+        IntStream.range(0, 100).forEach(i -> context.after(context.before(), null));
+        List<CallMetrics.Snapshot> first = CallMetrics.intervalsSince(previous, callMetrics.takeSnapshots());
+        Assertions.assertEquals(100, first.get(0).getHistogram().getTotalCount());
+
+        IntStream.range(0, 24).forEach(i -> context.after(context.before(), null));
+        long callTime = context.before();
+        context.retry(TimeUnit.MILLISECONDS.toNanos(15), TimeUnit.MILLISECONDS.toNanos(10));
+        context.after(callTime, null);
+        List<CallMetrics.Snapshot> second = CallMetrics.intervalsSince(previous, callMetrics.takeSnapshots());
+        Assertions.assertEquals(25, second.get(0).getHistogram().getTotalCount());
+        Assertions.assertEquals(25, second.get(0).getSuccessfulCalls());
+        Assertions.assertEquals(1, second.get(0).getRetries());
+        Assertions.assertEquals(24, second.get(0).getFirstTrySuccessfulCalls());
+        Assertions.assertEquals(96.0, second.get(0).getFirstTrySuccessRate(), 0.01);
+        Assertions.assertEquals(15.0 / 25, second.get(0).getContentionCost(), 0.001);
+        Assertions.assertEquals(10.0 / 25, second.get(0).getBackoffTime(), 0.001);
+
+        Assertions.assertEquals(125, callMetrics.takeSnapshots().get(0).getHistogram().getTotalCount());
+    }
+
+    @Test
+    public void whenUnbindingContext_thenRecorderIsReleasedAndCallsKept() throws Exception {
+        CallMetrics callMetrics = new CallMetrics();
+        CallMetrics.Context context = callMetrics.of("test", () -> 1);
+        CallMetrics.Context lagContext = callMetrics.of("lag", () -> 1);
+
+        Thread thread = new Thread(() -> {
+            CallMetrics.bindContext(context);
+            IntStream.range(0, 100).forEach(i -> context.after(context.before(), null));
+            IntStream.range(0, 10).forEach(i -> lagContext.record(TimeUnit.MILLISECONDS.toNanos(i)));
+            CallMetrics.unbindContext();
+        });
+        thread.start();
+        thread.join();
+
+        Assertions.assertEquals(0, context.activeRecorders());
+        Assertions.assertEquals(0, lagContext.activeRecorders());
+
+        List<CallMetrics.Snapshot> snapshots = callMetrics.takeSnapshots();
+        Assertions.assertEquals(10, snapshots.get(0).getHistogram().getTotalCount());
+        Assertions.assertEquals(100, snapshots.get(1).getHistogram().getTotalCount());
+    }
+
+    @Test
+    public void whenUsingSharedRecorders_thenAllCallsAreCounted() throws Exception {
+        CallMetrics callMetrics = new CallMetrics(2);
+        CallMetrics.Context context = callMetrics.of("test", () -> 8);
+
+        Thread[] threads = IntStream.range(0, 8).mapToObj(t -> new Thread(() -> {
+            CallMetrics.bindContext(context);
+            for (int i = 0; i < 1000; i++) {
+                context.after(context.before(), null);
+            }
+            CallMetrics.unbindContext();
+        })).toArray(Thread[]::new);
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(0, context.activeRecorders());
+        Assertions.assertEquals(8000, callMetrics.takeSnapshots().get(0).getHistogram().getTotalCount());
+    }
+}
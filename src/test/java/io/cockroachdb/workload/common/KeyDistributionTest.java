@@ -0,0 +1,82 @@
+package io.cockroachdb.workload.common;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KeyDistributionTest {
+    private static int[] histogram(KeyDistribution distribution, int draws) {
+        int[] counts = new int[distribution.size()];
+        for (int i = 0; i < draws; i++) {
+            counts[distribution.next()]++;
+        }
+        return counts;
+    }
+
+    @Test
+    public void whenUsingZipfian_thenFirstRanksAreHottest() {
+        int[] counts = histogram(new KeyDistribution.Zipfian(1000, 0.99, false), 100_000);
+        Assertions.assertTrue(counts[0] > counts[1]);
+        Assertions.assertTrue(counts[1] > counts[100]);
+        Assertions.assertTrue(counts[0] > 100_000 / 20);
+
+        int[] latest = histogram(KeyDistribution.of("latest", 1000), 100_000);
+        Assertions.assertTrue(latest[999] > latest[0]);
+    }
+
+    @Test
+    public void whenUsingHotspot_thenHotKeysGetMostTraffic() {
+        int[] counts = histogram(new KeyDistribution.Hotspot(100, 0.9, 0.1), 100_000);
+        int hot = 0;
+        for (int i = 0; i < 10; i++) {
+            hot += counts[i];
+        }
+        Assertions.assertEquals(0.9, hot / 100_000.0, 0.01);
+    }
+
+    @Test
+    public void whenScrambled_thenHotKeysAreSpreadOut() {
+        int[] counts = histogram(KeyDistribution.of("zipfian:0.99", 1000), 100_000);
+
+        // Ten hottest keys, which are the ten lowest indexes without scrambling
+        List<Integer> hottest = IntStream.range(0, counts.length).boxed()
+                .sorted((a, b) -> Integer.compare(counts[b], counts[a]))
+                .limit(10)
+                .sorted()
+                .toList();
+
+        Assertions.assertTrue(counts[hottest.get(0)] > 100 && hottest.get(9) - hottest.get(0) > 500,
+                "hottest: " + hottest);
+        Assertions.assertNotEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), hottest);
+    }
+
+    @Test
+    public void whenUsingSequential_thenKeysWrapAround() {
+        KeyDistribution distribution = KeyDistribution.of("sequential", 3);
+        Assertions.assertArrayEquals(new int[] {0, 1, 2, 0},
+                new int[] {distribution.next(), distribution.next(), distribution.next(), distribution.next()});
+    }
+
+    @Test
+    public void whenDrawingDistinct_thenNoDuplicates() {
+        KeyDistribution distribution = KeyDistribution.of("zipfian:0.99", 4);
+        for (int i = 0; i < 1000; i++) {
+            Set<Integer> keys = new HashSet<>();
+            for (int k : distribution.nextDistinct(4)) {
+                keys.add(k);
+            }
+            Assertions.assertEquals(4, keys.size());
+        }
+    }
+
+    @Test
+    public void whenSpecIsInvalid_thenThrow() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> KeyDistribution.of("pareto", 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> KeyDistribution.of("zipfian:1.5", 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> KeyDistribution.of("zipfian:abc", 10));
+    }
+}
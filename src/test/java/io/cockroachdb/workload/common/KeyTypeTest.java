@@ -0,0 +1,15 @@
+package io.cockroachdb.workload.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KeyTypeTest {
+    @Test
+    public void whenParsingNames_thenIgnoreCase() {
+        Assertions.assertEquals(KeyType.UUID, KeyType.of("uuid"));
+        Assertions.assertEquals(KeyType.UUIDV7, KeyType.of("UUIDv7"));
+        Assertions.assertEquals(KeyType.ROWID, KeyType.of(" ROWID "));
+        Assertions.assertEquals("uuidv7", KeyType.UUIDV7.toString());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> KeyType.of("serial"));
+    }
+}
@@ -0,0 +1,31 @@
+package io.cockroachdb.workload.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ReadConsistencyTest {
+    @Test
+    public void whenParsingSpecs_thenMapToAsOfSystemTime() {
+        Assertions.assertEquals("", ReadConsistency.of("strong").asOfSystemTimeClause());
+        Assertions.assertEquals("AS OF SYSTEM TIME follower_read_timestamp()",
+                ReadConsistency.of("follower").asOfSystemTimeClause());
+        Assertions.assertEquals("'-5s'", ReadConsistency.of("exact:5s").getAsOfSystemTime());
+        Assertions.assertEquals("with_max_staleness('10s')",
+                ReadConsistency.of("max-staleness:10s").getAsOfSystemTime());
+        Assertions.assertEquals("with_min_timestamp(now() - '10s'::INTERVAL)",
+                ReadConsistency.of("min-timestamp:-10s").getAsOfSystemTime());
+        Assertions.assertEquals("with_min_timestamp('2024-01-01T00:00:00Z'::TIMESTAMPTZ)",
+                ReadConsistency.of("min-timestamp:2024-01-01T00:00:00Z").getAsOfSystemTime());
+
+        Assertions.assertTrue(ReadConsistency.of("max-staleness:10s").isBoundedStaleness());
+        Assertions.assertFalse(ReadConsistency.of("exact:-5s").isBoundedStaleness());
+    }
+
+    @Test
+    public void whenParsingBadSpecs_thenFail() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReadConsistency.of("eventual"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReadConsistency.of("exact"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReadConsistency.of("max-staleness:-10s"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ReadConsistency.of("exact:1s'; drop"));
+    }
+}
@@ -0,0 +1,43 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AliasSamplerTest {
+    @Test
+    public void whenSamplingWeighted_thenFrequenciesFollowWeights() {
+        AliasSampler sampler = new AliasSampler(new double[] {1, 2, 3, 0});
+
+        int[] counts = new int[4];
+        int draws = 600_000;
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.nextIndex()]++;
+        }
+
+        Assertions.assertEquals(1.0 / 6, counts[0] / (double) draws, 0.01);
+        Assertions.assertEquals(2.0 / 6, counts[1] / (double) draws, 0.01);
+        Assertions.assertEquals(3.0 / 6, counts[2] / (double) draws, 0.01);
+        Assertions.assertEquals(0, counts[3]);
+    }
+
+    @Test
+    public void whenSamplingDistinct_thenNoDuplicates() {
+        AliasSampler sampler = new AliasSampler(new double[] {1000, 0, 0, 1});
+
+        for (int i = 0; i < 1000; i++) {
+            int[] drawn = sampler.nextDistinct(4, leg -> leg % 2 == 0);
+            Assertions.assertEquals(4, Arrays.stream(drawn).distinct().count());
+        }
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> sampler.nextDistinct(5, leg -> true));
+    }
+
+    @Test
+    public void whenAllWeightsZero_thenSampleUniformly() {
+        AliasSampler sampler = new AliasSampler(new double[] {0, 0});
+        int index = sampler.nextIndex();
+        Assertions.assertTrue(index == 0 || index == 1);
+    }
+}
@@ -0,0 +1,39 @@
+package io.cockroachdb.workload.common.util;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CsvEncoderTest {
+    @Test
+    public void whenEncodingRows_thenQuoteOnlyWhenRequired() {
+        CsvEncoder encoder = new CsvEncoder(8);
+        encoder.write("plain").write("a,b").write("say \"hi\"").write("").writeNull()
+                .write(42L).write(new BigDecimal("1E+3")).write(true);
+        encoder.endRow();
+        encoder.write("åäö €").write("\uD83D\uDE00").write("\\.");
+        encoder.endRow();
+
+        Assertions.assertEquals(
+                "plain,\"a,b\",\"say \"\"hi\"\"\",\"\",,42,1000,true\n"
+                        + "åäö €,\uD83D\uDE00,\"\\.\"\n",
+                new String(encoder.getBuffer(), 0, encoder.size(), StandardCharsets.UTF_8));
+
+        encoder.reset();
+        Assertions.assertEquals(0, encoder.size());
+
+        byte[] utf8 = "xx{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+        encoder.write(1L).writeQuoted(utf8, 2, 7);
+        Assertions.assertEquals("1,\"{\"\"a\"\":1}\"",
+                new String(encoder.getBuffer(), 0, encoder.size(), StandardCharsets.UTF_8));
+
+        encoder.reset();
+        ByteBuffer csv = ByteBuffer.allocateDirect(16).put("xx\"{\"\"a\"\"}\"".getBytes(StandardCharsets.UTF_8));
+        encoder.write(1L).writeEncoded(csv, 2, 9);
+        Assertions.assertEquals("1,\"{\"\"a\"\"}\"",
+                new String(encoder.getBuffer(), 0, encoder.size(), StandardCharsets.UTF_8));
+    }
+}
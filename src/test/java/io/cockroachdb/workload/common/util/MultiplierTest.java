@@ -23,6 +23,7 @@ public class MultiplierTest {
         Assertions.assertThrows(NumberFormatException.class, () -> Multiplier.parseDouble("100MM"));
         Assertions.assertThrows(NumberFormatException.class, () -> Multiplier.parseDouble("100B"));
         Assertions.assertThrows(NumberFormatException.class, () -> Multiplier.parseDouble("M"));
+        Assertions.assertThrows(NumberFormatException.class, () -> Multiplier.parseDouble("5m"));
     }
 
     @Test
@@ -0,0 +1,24 @@
+package io.cockroachdb.workload.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RateFormatTest {
+    @Test
+    public void whenUsingRateExpressions_thenReturnOpsPerSecond() {
+        Assertions.assertEquals(0, RateFormat.parseRate(null));
+        Assertions.assertEquals(0, RateFormat.parseRate("0"));
+        Assertions.assertEquals(500, RateFormat.parseRate("500"));
+        Assertions.assertEquals(500, RateFormat.parseRate("500/s"));
+        Assertions.assertEquals(5_000, RateFormat.parseRate("5K/S"));
+        Assertions.assertEquals(5_000, RateFormat.parseRate("5K / s"));
+        Assertions.assertEquals(5, RateFormat.parseRate("300/m"));
+        Assertions.assertEquals(1, RateFormat.parseRate("3.6K/h"));
+
+        Assertions.assertEquals(1_000, RateFormat.parseRate("60K/m"));
+
+        Assertions.assertThrows(NumberFormatException.class, () -> RateFormat.parseRate("5x/s"));
+        Assertions.assertThrows(NumberFormatException.class, () -> RateFormat.parseRate("5m/s"));
+        Assertions.assertThrows(NumberFormatException.class, () -> RateFormat.parseRate("5m"));
+    }
+}
@@ -0,0 +1,24 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class UuidRangeTest {
+    @Test
+    public void whenSplittingKeySpace_thenRangesAreContiguous() {
+        List<UuidRange> ranges = UuidRange.split(4);
+
+        Assertions.assertEquals(4, ranges.size());
+        Assertions.assertEquals(new UUID(0, 0), ranges.get(0).getLower());
+        Assertions.assertEquals(UUID.fromString("40000000-0000-0000-0000-000000000000"), ranges.get(0).getUpper());
+        Assertions.assertEquals(UUID.fromString("c0000000-0000-0000-0000-000000000000"), ranges.get(3).getLower());
+        Assertions.assertTrue(ranges.get(3).isUnbounded());
+
+        for (int i = 1; i < ranges.size(); i++) {
+            Assertions.assertEquals(ranges.get(i - 1).getUpper(), ranges.get(i).getLower());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package io.cockroachdb.workload.common.util;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class UuidV7Test {
+    @Test
+    public void whenGeneratingKeys_thenVersionAndTimeOrderingHold() {
+        UUID first = UuidV7.of(1_700_000_000_000L);
+        UUID second = UuidV7.of(1_700_000_000_001L);
+
+        Assertions.assertEquals(7, first.version());
+        Assertions.assertEquals(2, first.variant());
+        Assertions.assertEquals(1_700_000_000_000L, UuidV7.epochMillis(first));
+        Assertions.assertTrue(first.toString().compareTo(second.toString()) < 0);
+        Assertions.assertNotEquals(UuidV7.of(1L), UuidV7.of(1L));
+    }
+
+    @Test
+    public void whenGeneratingFastRandomKeys_thenVersionAndVariantHold() {
+        UUID uuid = FastUuid.random();
+        Assertions.assertEquals(4, uuid.version());
+        Assertions.assertEquals(2, uuid.variant());
+        Assertions.assertNotEquals(uuid, FastUuid.random());
+    }
+}
@@ -0,0 +1,66 @@
+package io.cockroachdb.workload.ledger.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.cockroachdb.workload.common.CallMetrics;
+import io.cockroachdb.workload.common.util.Money;
+
+public class BalanceCacheTest {
+    @Test
+    public void whenDisabled_thenAlwaysLoad() {
+        BalanceCache cache = new BalanceCache();
+        cache.configure("0", Duration.ofSeconds(30), new CallMetrics());
+
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+        cache.get(id, false, key -> load(loads));
+        cache.get(id, false, key -> load(loads));
+
+        Assertions.assertFalse(cache.isEnabled());
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void whenInvalidated_thenReload() {
+        BalanceCache cache = new BalanceCache();
+        cache.configure("10k", Duration.ofSeconds(30), new CallMetrics());
+
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+        cache.get(id, false, key -> load(loads));
+        cache.get(id, false, key -> load(loads));
+        Assertions.assertEquals(1, loads.get());
+
+        cache.invalidate(List.of(id));
+        cache.get(id, false, key -> load(loads));
+
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(2, cache.getMisses());
+        Assertions.assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    public void whenSnapshotEntry_thenCurrentReadReloads() {
+        BalanceCache cache = new BalanceCache();
+        cache.configure("1mb", Duration.ofSeconds(30), new CallMetrics());
+
+        AtomicInteger loads = new AtomicInteger();
+        UUID id = UUID.randomUUID();
+        cache.get(id, true, key -> load(loads));
+        cache.get(id, false, key -> load(loads));
+        cache.get(id, true, key -> load(loads));
+
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    private static Money load(AtomicInteger loads) {
+        return Money.of(loads.incrementAndGet() + ".00", Money.USD);
+    }
+}
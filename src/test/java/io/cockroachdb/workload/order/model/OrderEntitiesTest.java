@@ -1,9 +1,13 @@
 package io.cockroachdb.workload.order.model;
 
+import java.util.List;
 import java.util.stream.IntStream;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import io.cockroachdb.workload.common.util.FastUuid;
+
 import io.cockroachdb.workload.order.model.OrderEntities;
 
 public class OrderEntitiesTest {
@@ -16,4 +20,20 @@ public class OrderEntitiesTest {
             }
         });
     }
+
+    @Test
+    public void whenUsingPooledGenerator_thenCustomerOnlyIncludedWhenRequested() {
+        OrderGenerator generator = new OrderGenerator(16);
+
+        List<Order> orders = generator.generate(8, FastUuid::random, false);
+        Assertions.assertEquals(8, orders.size());
+        orders.forEach(order -> {
+            Assertions.assertNotNull(order.getId());
+            Assertions.assertNotNull(order.getTotalPrice());
+            Assertions.assertNull(order.getCustomer());
+        });
+
+        generator.generate(8, FastUuid::random, true)
+                .forEach(order -> Assertions.assertNotNull(order.getCustomer()));
+    }
 }